@@ -0,0 +1,21 @@
+package com.hello.core.di;
+
+import java.lang.annotation.*;
+
+/**
+ * 컴파일 시점 DI 컨테이너 생성 대상
+ * - 이 어노테이션이 붙은 설정 클래스(AppConfig)를 상속한 XXXContainer 클래스를 컴파일 시점에 생성한다
+ * - 생성된 컨테이너는 설정 클래스의 객체 생성 메소드를 오버라이딩해서 처음 호출될 때 한 번만 만들고 이후에는 같은 객체를 돌려준다
+ * - 리플렉션, 클래스패스 스캔, 프록시 없이 생성자 호출만 남으므로 컨테이너 생성 비용이 거의 없다
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+@Documented
+public @interface Container {
+
+    /**
+     * 생성할 컨테이너 클래스 이름, 비어 있으면 설정 클래스 이름 + Container
+     */
+    String value() default "";
+
+}
@@ -0,0 +1,170 @@
+package com.hello.core.di.processor;
+
+import com.hello.core.di.Container;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@SupportedAnnotationTypes("com.hello.core.di.Container")
+public class ContainerProcessor extends AbstractProcessor {
+
+    /**
+     * @Container 설정 클래스를 읽어서 싱글톤을 보장하는 컨테이너 클래스를 생성한다
+     * - 파라미터가 없고 값을 반환하는 인스턴스 메소드를 객체 생성 메소드로 본다
+     * - 생성된 메소드는 처음 호출될 때 super 메소드로 객체를 만들어 필드에 보관하고, 이후에는 보관한 객체를 돌려준다
+     * - 설정 클래스 안에서 다른 객체 생성 메소드를 호출해도 오버라이딩된 메소드가 불리므로 같은 객체가 주입된다
+     * - @Configuration 의 CGLIB 프록시가 런타임에 하는 일을 컴파일 시점에 코드로 만드는 것
+     *
+     * 컴파일 오류
+     * - 설정 클래스가 최상위 클래스가 아니거나, final 이거나, 파라미터 없는 생성자가 없는 경우
+     * - 객체 생성 메소드가 private 또는 final 이라 오버라이딩할 수 없는 경우
+     */
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Container.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@Container can only be applied to classes");
+                continue;
+            }
+            generate((TypeElement) element);
+        }
+        return true;
+    }
+
+    private void generate(TypeElement config) {
+
+        if (config.getNestingKind() != NestingKind.TOP_LEVEL) {
+            error(config, "@Container class must be a top-level class");
+            return;
+        }
+        if (config.getModifiers().contains(Modifier.FINAL)) {
+            error(config, "@Container class must not be final");
+            return;
+        }
+        if (!hasNoArgConstructor(config)) {
+            error(config, "@Container class must have a non-private no-arg constructor");
+            return;
+        }
+
+        List<ExecutableElement> beanMethods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(config.getEnclosedElements())) {
+            if (!isBeanMethod(method)) {
+                continue;
+            }
+            if (method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.FINAL)) {
+                error(method, "bean method must be overridable to be cached as a singleton: " + method.getSimpleName() + "()");
+                continue;
+            }
+            beanMethods.add(method);
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(config).getQualifiedName().toString();
+        String configName = config.getSimpleName().toString();
+        String containerName = containerName(config);
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * ").append(configName).append(" 의 객체 생성 메소드를 싱글톤으로 캐싱하는 컨테이너 (ContainerProcessor 가 생성)\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public class ").append(containerName).append(" extends ").append(configName).append(" {\n");
+
+        for (ExecutableElement method : beanMethods) {
+            String name = method.getSimpleName().toString();
+            source.append("\n    private volatile ").append(method.getReturnType()).append(' ').append(name).append(";\n");
+        }
+
+        for (ExecutableElement method : beanMethods) {
+            String name = method.getSimpleName().toString();
+            String type = method.getReturnType().toString();
+            source.append("\n    @Override\n")
+                    .append("    ").append(visibility(method)).append(type).append(' ').append(name).append("() {\n")
+                    .append("        ").append(type).append(" instance = this.").append(name).append(";\n")
+                    .append("        if (instance == null) {\n")
+                    .append("            synchronized (this) {\n")
+                    .append("                instance = this.").append(name).append(";\n")
+                    .append("                if (instance == null) {\n")
+                    .append("                    instance = super.").append(name).append("();\n")
+                    .append("                    this.").append(name).append(" = instance;\n")
+                    .append("                }\n")
+                    .append("            }\n")
+                    .append("        }\n")
+                    .append("        return instance;\n")
+                    .append("    }\n");
+        }
+        source.append("\n}\n");
+
+        String qualifiedName = packageName.isEmpty() ? containerName : packageName + "." + containerName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, config);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to generate " + qualifiedName, e);
+        }
+    }
+
+    private boolean isBeanMethod(ExecutableElement method) {
+        return !method.getModifiers().contains(Modifier.STATIC)
+                && method.getParameters().isEmpty()
+                && method.getReturnType().getKind() != TypeKind.VOID
+                && method.getTypeParameters().isEmpty();
+    }
+
+    private boolean hasNoArgConstructor(TypeElement config) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(config.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String containerName(TypeElement config) {
+        String value = config.getAnnotation(Container.class).value();
+        return value.isEmpty() ? config.getSimpleName() + "Container" : value;
+    }
+
+    private String visibility(ExecutableElement method) {
+        if (method.getModifiers().contains(Modifier.PUBLIC)) {
+            return "public ";
+        }
+        if (method.getModifiers().contains(Modifier.PROTECTED)) {
+            return "protected ";
+        }
+        return "";
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.hello.core.di.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ContainerProcessorTest {
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void generateSingletonContainer() throws Exception {
+
+        Path source = write("demo/DemoConfig.java", """
+                package demo;
+
+                @com.hello.core.di.Container
+                public class DemoConfig {
+                    public Object service() {
+                        return new Object[] {repository()};
+                    }
+                    protected Object repository() {
+                        return new Object();
+                    }
+                }
+                """);
+
+        assertThat(compile(source)).isEmpty();
+        assertThat(Files.readString(workDir.resolve("generated/demo/DemoConfigContainer.java")))
+                .contains("public class DemoConfigContainer extends DemoConfig");
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{workDir.resolve("classes").toUri().toURL()})) {
+            Class<?> container = classLoader.loadClass("demo.DemoConfigContainer");
+            Object instance = container.getConstructor().newInstance();
+            Supplier<Object> service = () -> invoke(container, instance, "service");
+            Supplier<Object> repository = () -> invoke(container, instance, "repository");
+
+            assertThat(service.get()).isSameAs(service.get());
+            assertThat(((Object[]) service.get())[0]).isSameAs(repository.get());
+        }
+
+    }
+
+    @Test
+    void privateBeanMethodIsError() throws IOException {
+
+        Path source = write("demo/PrivateConfig.java", """
+                package demo;
+
+                @com.hello.core.di.Container
+                public class PrivateConfig {
+                    private Object repository() {
+                        return new Object();
+                    }
+                }
+                """);
+
+        assertThat(compile(source))
+                .anySatisfy(message -> assertThat(message).contains("must be overridable"));
+
+    }
+
+    private List<String> compile(Path source) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Files.createDirectories(workDir.resolve("classes"));
+        Files.createDirectories(workDir.resolve("generated"));
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = List.of(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", workDir.resolve("classes").toString(),
+                    "-s", workDir.resolve("generated").toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjects(source));
+            task.setProcessors(List.of(new ContainerProcessor()));
+            task.call();
+        }
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .toList();
+    }
+
+    private Path write(String path, String content) throws IOException {
+        Path file = workDir.resolve("src").resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    private static Object invoke(Class<?> type, Object target, String methodName) {
+        try {
+            Method method = type.getDeclaredMethod(methodName);
+            method.setAccessible(true);
+            return method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
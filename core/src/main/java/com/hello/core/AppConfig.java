@@ -1,5 +1,6 @@
 package com.hello.core;
 
+import com.hello.core.di.Container;
 import com.hello.core.discount.DiscountPolicy;
 import com.hello.core.discount.FixDiscountPolicy;
 import com.hello.core.discount.RateDiscountPolicy;
@@ -10,6 +11,14 @@ import com.hello.core.member.MemoryMemberRepository;
 import com.hello.core.order.OrderService;
 import com.hello.core.order.OrderServiceImpl;
 
+/**
+ * @Container
+ * - 컴파일 시점에 AppConfig 를 상속한 AppConfigContainer 가 생성된다
+ * - AppConfigContainer 는 각 메소드가 만든 객체를 한 번만 만들고 재사용한다(싱글톤)
+ * - 스프링 컨테이너 없이 짧게 실행되는 배치, CLI 에서 사용한다
+ * - 오버라이딩할 수 있도록 객체 생성 메소드는 private 으로 두지 않는다
+ */
+@Container
 public class AppConfig {
 
     /**
@@ -20,7 +29,7 @@ public class AppConfig {
         return new MemberServiceImpl(memberRepository());
     }
 
-    private MemberRepository memberRepository() {
+    public MemberRepository memberRepository() {
         return new MemoryMemberRepository();
     }
 
@@ -36,7 +45,7 @@ public class AppConfig {
      * DiscountPolicy 의 구현체가 바뀌어도 OrderServiceImpl 의 코드는 변경할 필요 없다
      * - OCP 원칙 준수
      */
-    private DiscountPolicy discountPolicy() {
+    public DiscountPolicy discountPolicy() {
         // return new FixDiscountPolicy();
         return new RateDiscountPolicy();
     }
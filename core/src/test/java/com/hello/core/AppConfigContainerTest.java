@@ -0,0 +1,44 @@
+package com.hello.core;
+
+import com.hello.core.member.Grade;
+import com.hello.core.member.Member;
+import com.hello.core.member.MemberService;
+import com.hello.core.member.MemberServiceImpl;
+import com.hello.core.order.Order;
+import com.hello.core.order.OrderService;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class AppConfigContainerTest {
+
+    @Test
+    void singleton() {
+
+        AppConfig appConfig = new AppConfigContainer();
+
+        //같은 메소드를 여러 번 호출해도 같은 객체를 반환한다
+        assertThat(appConfig.memberService()).isSameAs(appConfig.memberService());
+        assertThat(appConfig.orderService()).isSameAs(appConfig.orderService());
+        assertThat(appConfig.memberRepository()).isSameAs(appConfig.memberRepository());
+
+    }
+
+    @Test
+    void sameDependencyInjected() {
+
+        AppConfig appConfig = new AppConfigContainer();
+        MemberService memberService = appConfig.memberService();
+        OrderService orderService = appConfig.orderService();
+
+        //memberService(), orderService() 안에서 호출한 memberRepository() 도 같은 객체를 반환한다
+        assertThat(((MemberServiceImpl) memberService)).extracting("memberRepository")
+                .isSameAs(appConfig.memberRepository());
+
+        memberService.join(new Member(1L, "memberA", Grade.VIP));
+        Order order = orderService.createOrder(1L, "itemA", 10000);
+        assertThat(order.getDiscountPrice()).isEqualTo(1000);
+
+    }
+
+}
@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+#
+# 릴리스 전 부하 테스트
+# - 앱(bootJar)을 띄우고, 같은 jar 안의 LoadGenerator 로 일정 도착률의 부하를 준 뒤 앱을 내린다
+# - 지연 시간은 예정 시각부터 잰 값(coordinated omission 보정)이고, 백분위 분포는 OUT/*.hgrm 에 남는다
+# - 부하 생성기와 앱이 CPU 를 나눠 쓰면 결과가 흔들리므로 APP_CPUS, LOAD_CPUS 로 서로 다른 코어에 고정한다
+#
+# 사용법
+#   ./gradlew bootJar
+#   scripts/load-test.sh [LoadGenerator 옵션...]
+#   scripts/load-test.sh --rate=1000 --duration=60s --target=/log-demo
+#
+# 환경 변수
+#   JAR       : 앱 jar (기본값 build/libs/core2-0.0.1-SNAPSHOT.jar)
+#   PORT      : 서버 포트 (기본값 18080)
+#   OUT       : 히스토그램 디렉토리 (기본값 build/load-test/<시각>)
+#   APP_CPUS  : 앱을 고정할 CPU 목록 (taskset -c 형식, 예 0-3)
+#   LOAD_CPUS : 부하 생성기를 고정할 CPU 목록 (예 4-5)
+#   JAVA_OPTS : 앱 JVM 옵션 (기본값 -Xms512m -Xmx512m, 힙 크기를 고정해서 실행마다 조건을 같게 한다)
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+JAR=${JAR:-build/libs/core2-0.0.1-SNAPSHOT.jar}
+PORT=${PORT:-18080}
+OUT=${OUT:-build/load-test/$(date +%Y%m%d-%H%M%S)}
+JAVA_OPTS=${JAVA_OPTS:--Xms512m -Xmx512m}
+URL="http://localhost:${PORT}"
+
+if [[ ! -f "${JAR}" ]]; then
+  echo "${JAR} not found (./gradlew bootJar)" >&2
+  exit 1
+fi
+
+# CPU 목록이 있으면 taskset 으로 고정해서 실행한다
+pinned() {
+  local cpus=$1
+  shift
+  if [[ -n "${cpus}" ]]; then
+    taskset -c "${cpus}" "$@"
+  else
+    "$@"
+  fi
+}
+
+# shellcheck disable=SC2086
+pinned "${APP_CPUS:-}" java ${JAVA_OPTS} -jar "${JAR}" --server.port="${PORT}" > "${TMPDIR:-/tmp}/core2-load-test.log" 2>&1 &
+pid=$!
+trap 'kill "${pid}" 2> /dev/null || true; wait "${pid}" 2> /dev/null || true' EXIT
+
+until curl -sf -o /dev/null "${URL}/log-demo"; do
+  if ! kill -0 "${pid}" 2> /dev/null; then
+    echo "application exited before serving a request, see ${TMPDIR:-/tmp}/core2-load-test.log" >&2
+    exit 1
+  fi
+  sleep 0.1
+done
+
+# 앱 jar 의 BOOT-INF 클래스패스로 LoadGenerator 를 실행한다 (스프링 부트 3.1 로더)
+pinned "${LOAD_CPUS:-}" java -cp "${JAR}" -Dloader.main=com.hello.core.load.LoadGenerator \
+  org.springframework.boot.loader.PropertiesLauncher --base-url="${URL}" --out="${OUT}" "$@"
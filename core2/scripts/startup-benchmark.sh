@@ -0,0 +1,95 @@
+#!/usr/bin/env bash
+#
+# JVM 빌드와 네이티브 이미지 빌드의 시작 시간, 메모리 비교
+# - time-to-first-request : 프로세스 시작부터 /log-demo 첫 응답까지 걸린 시간(ms)
+# - rss : 첫 응답 직후, 요청 REQUESTS 번 처리 후의 상주 메모리(VmRSS, MB)
+#
+# 사용법
+#   ./gradlew bootJar && ./gradlew -Pnative nativeCompile
+#   scripts/startup-benchmark.sh [runs]
+#
+# 환경 변수
+#   JAR      : JVM 빌드 jar (기본값 build/libs/core2-0.0.1-SNAPSHOT.jar)
+#   NATIVE   : 네이티브 실행 파일 (기본값 build/native/nativeCompile/core2)
+#   PORT     : 서버 포트 (기본값 18080)
+#   REQUESTS : RSS 측정 전에 보낼 요청 수 (기본값 1000)
+#   JAVA_OPTS: JVM 옵션
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+JAR=${JAR:-build/libs/core2-0.0.1-SNAPSHOT.jar}
+NATIVE=${NATIVE:-build/native/nativeCompile/core2}
+PORT=${PORT:-18080}
+REQUESTS=${REQUESTS:-1000}
+URL="http://localhost:${PORT}/log-demo"
+
+now_ms() {
+  date +%s%3N
+}
+
+rss_mb() {
+  awk '/VmRSS/ { printf "%.1f", $2 / 1024 }' "/proc/$1/status"
+}
+
+# 한 번 실행해서 "첫 응답(ms) 첫 응답 후 RSS(MB) 부하 후 RSS(MB)" 를 출력한다
+measure() {
+  local start pid first_ms rss_first rss_loaded
+  start=$(now_ms)
+  "$@" --server.port="${PORT}" > /dev/null 2>&1 &
+  pid=$!
+
+  until curl -sf -o /dev/null "${URL}"; do
+    if ! kill -0 "${pid}" 2> /dev/null; then
+      echo "process exited before serving a request: $*" >&2
+      exit 1
+    fi
+    sleep 0.005
+  done
+  first_ms=$(( $(now_ms) - start ))
+  rss_first=$(rss_mb "${pid}")
+
+  for _ in $(seq "${REQUESTS}"); do
+    curl -sf -o /dev/null "${URL}"
+  done
+  rss_loaded=$(rss_mb "${pid}")
+
+  kill "${pid}"
+  wait "${pid}" 2> /dev/null || true
+  echo "${first_ms} ${rss_first} ${rss_loaded}"
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+# RUNS 번 실행한 결과의 중앙값을 출력한다
+report() {
+  local name=$1
+  shift
+  local results=()
+  for _ in $(seq "${RUNS}"); do
+    results+=("$(measure "$@")")
+  done
+  printf "%-8s %12s %14s %14s\n" "${name}" \
+    "$(printf '%s\n' "${results[@]}" | cut -d' ' -f1 | median)" \
+    "$(printf '%s\n' "${results[@]}" | cut -d' ' -f2 | median)" \
+    "$(printf '%s\n' "${results[@]}" | cut -d' ' -f3 | median)"
+}
+
+printf "%-8s %12s %14s %14s\n" "build" "first(ms)" "rss-first(MB)" "rss-load(MB)"
+
+if [[ -f "${JAR}" ]]; then
+  # shellcheck disable=SC2086
+  report jvm java ${JAVA_OPTS:-} -jar "${JAR}"
+else
+  echo "skip jvm: ${JAR} not found (./gradlew bootJar)" >&2
+fi
+
+if [[ -x "${NATIVE}" ]]; then
+  report native "${NATIVE}"
+else
+  echo "skip native: ${NATIVE} not found (./gradlew -Pnative nativeCompile)" >&2
+fi
@@ -1,13 +1,24 @@
 package com.hello.core;
 
+import com.hello.core.nativeimage.CoreRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(CoreRuntimeHints.class)
 public class CoreApplication {
 
+	/**
+	 * -Dspring.context.exit=onRefresh
+	 * - 시작이 끝나면 바로 종료한다(AppCDS 아카이브 생성을 위한 학습 실행, 시작 시간 측정에 사용)
+	 */
 	public static void main(String[] args) {
-		SpringApplication.run(CoreApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(CoreApplication.class, args);
+		if ("onRefresh".equals(System.getProperty("spring.context.exit"))) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
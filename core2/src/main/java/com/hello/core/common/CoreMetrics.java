@@ -0,0 +1,45 @@
+package com.hello.core.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+public final class CoreMetrics {
+
+    /**
+     * 회원, 주문, 할인 핫패스에서 사용하는 메트릭 모음
+     * - Micrometer 전역 레지스트리(Metrics.globalRegistry)에 등록한다
+     * - Counter 는 스레드 별로 나뉜 누산기(LongAdder 계열)를 사용하므로 동시에 기록해도 락 경합이 없다
+     * - Timer, DistributionSummary 의 백분위수는 HdrHistogram 기반으로 클라이언트에서 계산된다
+     * - 메트릭 이름과 백분위수 설정을 이곳에 모아서 핫패스 코드는 기록만 하도록 한다
+     */
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private CoreMetrics() {
+    }
+
+    public static Timer methodTimer(String name, String method) {
+        return Timer.builder(name)
+                .description("method latency")
+                .tag("method", method)
+                .publishPercentiles(PERCENTILES)
+                .register(Metrics.globalRegistry);
+    }
+
+    public static Counter counter(String name, String tagKey, String tagValue) {
+        return Counter.builder(name)
+                .tag(tagKey, tagValue)
+                .register(Metrics.globalRegistry);
+    }
+
+    public static DistributionSummary summary(String name, String baseUnit, String tagKey, String tagValue) {
+        return DistributionSummary.builder(name)
+                .baseUnit(baseUnit)
+                .tag(tagKey, tagValue)
+                .publishPercentiles(PERCENTILES)
+                .register(Metrics.globalRegistry);
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.hello.core.common;
 
+import com.hello.core.jfr.RequestScopeEvent;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.springframework.context.annotation.Scope;
@@ -41,6 +42,7 @@ public class MyLogger {
 
     private String uuid;
     private String requestURL;
+    private RequestScopeEvent scopeEvent; //init 부터 close 까지 요청 스코프의 생존 구간을 JFR 에 기록
 
     public void setRequestURL(String requestURL) {
         this.requestURL = requestURL;
@@ -53,12 +55,19 @@ public class MyLogger {
     @PostConstruct
     public void init(){
         this.uuid = UUID.randomUUID().toString();
+        this.scopeEvent = new RequestScopeEvent();
+        this.scopeEvent.begin();
         System.out.println("[" + this.uuid + "] request scope bean create: " + this);
     }
 
     @PreDestroy
     public void close(){
         System.out.println("[" + this.uuid + "] request scope bean close: " + this);
+        if (scopeEvent != null && scopeEvent.shouldCommit()) {
+            scopeEvent.uuid = uuid;
+            scopeEvent.requestURL = requestURL;
+            scopeEvent.commit();
+        }
     }
 
 }
@@ -0,0 +1,154 @@
+package com.hello.core.config;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.asm.Type;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ConfigurationClassRewriter {
+
+    /**
+     * 빌드 시점에 @Configuration 클래스의 @Bean 메소드 호출을 컨테이너 조회로 바꾼다 (gradle -PconfigProxyBypass)
+     * - memberRepository() 호출을 InterBeanCalls.resolve(this, "memberRepository") 로 바꾸고,
+     *   결과가 NOT_REGISTERED 일 때(컨테이너 밖에서 사용)만 원래 메소드를 호출한다, null 빈은 그대로 null 을 쓴다
+     * - 바꾼 클래스에는 @InterBeanCallsRewritten 을 붙인다, ConfigurationProxyBypass 는 이 클래스의 CGLIB 프록시를 생략한다
+     * - InterBeanCallAnalyzer 가 안전하다고 판단한 클래스만 바꾸고, 이미 바꾼 클래스는 건너뛴다
+     */
+
+    private static final String INTER_BEAN_CALLS = Type.getInternalName(InterBeanCalls.class);
+    private static final String RESOLVE_DESCRIPTOR = "(Ljava/lang/Object;Ljava/lang/String;)Ljava/lang/Object;";
+    private static final String OBJECT_DESCRIPTOR = "Ljava/lang/Object;";
+
+    /**
+     * args[0] : 컴파일된 클래스 디렉토리 (클래스 파일을 그 자리에서 바꾼다)
+     */
+    public static void main(String[] args) throws IOException {
+
+        if (args.length != 1) {
+            throw new IllegalArgumentException("usage: ConfigurationClassRewriter <classesDir>");
+        }
+
+        Path classesDirectory = Path.of(args[0]);
+        Function<String, byte[]> classFileLoader = internalName -> {
+            Path classFile = classesDirectory.resolve(internalName + ".class");
+            try {
+                return Files.exists(classFile) ? Files.readAllBytes(classFile) : null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(classesDirectory)) {
+            classFiles = paths.filter(path -> path.toString().endsWith(".class")).toList();
+        }
+
+        for (Path classFile : classFiles) {
+            InterBeanCallAnalyzer.Result result = new InterBeanCallAnalyzer(classFileLoader).analyze(Files.readAllBytes(classFile));
+            if (result.needsRewrite()) {
+                Files.write(classFile, rewrite(Files.readAllBytes(classFile), result));
+                System.out.println("rewrote " + result.className() + " (" + result.interBeanCalls().size() + " inter-bean calls)");
+            } else if (result.configuration() && !result.isSafe()) {
+                System.out.println("kept proxy for " + result.className() + ": " + result.unsafeReason());
+            }
+        }
+    }
+
+    /**
+     * @return 바꾼 클래스 파일, 바꿀 필요가 없거나 안전하지 않으면 null
+     */
+    public static byte[] rewrite(byte[] classFile, Function<String, byte[]> classFileLoader) {
+        InterBeanCallAnalyzer.Result result = new InterBeanCallAnalyzer(classFileLoader).analyze(classFile);
+        return result.needsRewrite() ? rewrite(classFile, result) : null;
+    }
+
+    private static byte[] rewrite(byte[] classFile, InterBeanCallAnalyzer.Result result) {
+
+        Map<String, InterBeanCallAnalyzer.BeanMethod> beanMethods = result.beanMethods().stream()
+                .collect(Collectors.toMap(method -> method.methodName() + method.descriptor(), method -> method));
+
+        ClassReader reader = new ClassReader(classFile);
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        reader.accept(new ClassVisitor(SpringAsmInfo.ASM_VERSION, writer) {
+
+            private String className;
+
+            @Override
+            public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+                this.className = name;
+                super.visit(version, access, name, signature, superName, interfaces);
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                return new InterBeanCallRewriter(super.visitMethod(access, name, descriptor, signature, exceptions), className, beanMethods);
+            }
+
+            @Override
+            public void visitEnd() {
+                super.visitAnnotation(InterBeanCallAnalyzer.REWRITTEN_DESCRIPTOR, true).visitEnd();
+                super.visitEnd();
+            }
+        }, ClassReader.SKIP_FRAMES);
+
+        return writer.toByteArray();
+    }
+
+    private static class InterBeanCallRewriter extends MethodVisitor {
+
+        private final String className;
+        private final Map<String, InterBeanCallAnalyzer.BeanMethod> beanMethods;
+
+        InterBeanCallRewriter(MethodVisitor methodVisitor, String className, Map<String, InterBeanCallAnalyzer.BeanMethod> beanMethods) {
+            super(SpringAsmInfo.ASM_VERSION, methodVisitor);
+            this.className = className;
+            this.beanMethods = beanMethods;
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+
+            InterBeanCallAnalyzer.BeanMethod target =
+                    opcode == Opcodes.INVOKEVIRTUAL && className.equals(owner) ? beanMethods.get(name + descriptor) : null;
+            if (target == null) {
+                super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+                return;
+            }
+
+            //[config] -> Object bean = InterBeanCalls.resolve(config, beanName);
+            //           bean != InterBeanCalls.NOT_REGISTERED ? (T) bean : config.method()
+            Label direct = new Label();
+            Label end = new Label();
+            super.visitInsn(Opcodes.DUP);
+            super.visitLdcInsn(target.beanName());
+            super.visitMethodInsn(Opcodes.INVOKESTATIC, INTER_BEAN_CALLS, "resolve", RESOLVE_DESCRIPTOR, false);
+            super.visitInsn(Opcodes.DUP);
+            super.visitFieldInsn(Opcodes.GETSTATIC, INTER_BEAN_CALLS, "NOT_REGISTERED", OBJECT_DESCRIPTOR);
+            super.visitJumpInsn(Opcodes.IF_ACMPEQ, direct);
+            super.visitInsn(Opcodes.SWAP);
+            super.visitInsn(Opcodes.POP);
+            super.visitTypeInsn(Opcodes.CHECKCAST, Type.getReturnType(descriptor).getInternalName());
+            super.visitJumpInsn(Opcodes.GOTO, end);
+            super.visitLabel(direct);
+            super.visitInsn(Opcodes.POP);
+            super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+            super.visitLabel(end);
+        }
+
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.hello.core.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.context.annotation.ConfigurationClassPostProcessor;
+import org.springframework.core.Conventions;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class ConfigurationProxyBypass implements BeanDefinitionRegistryPostProcessor {
+
+    /**
+     * CGLIB 프록시 없이도 싱글톤이 유지되는 @Configuration 클래스를 lite 모드로 바꾼다
+     * - @Bean 메소드끼리 호출하지 않는 클래스(파라미터로 주입받는 방식)
+     * - 빌드 시점에 ConfigurationClassRewriter 가 호출을 컨테이너 조회로 바꾼 클래스(@InterBeanCallsRewritten)
+     * - 나머지는 그대로 CGLIB 프록시를 사용하고, 그 이유를 getProxiedConfigurations() 로 확인할 수 있다
+     * - 서브클래스를 만들지 않으므로 구성 정보가 많을수록 시작 시간과 메타스페이스를 아낄 수 있다
+     *
+     * 사용법
+     * - ac.addBeanFactoryPostProcessor(new ConfigurationProxyBypass()) 또는 static @Bean 으로 등록한다
+     * - ConfigurationClassPostProcessor 가 붙인 full 표시를 enhance 전에 lite 로 바꾸므로
+     *   빈 정의 등록 단계와 빈 팩토리 후처리 단계 양쪽에서 확인한다(등록 방식에 따라 실행 순서가 다르다)
+     *
+     * - 바꾼 구성 정보 인스턴스는 lite 로 바꾸는 즉시 등록한 후처리기(Registrar)가 InterBeanCalls 에 연결한다
+     * - 이 후처리기가 확인하기 전에 이미 만들어진 구성 정보는 lite 로 바꾸지 않는다(스프링도 이런 빈은 enhance 하지 않는다)
+     *
+     * 주의
+     * - 구성 정보 클래스 밖의 코드가 appConfig.memberService() 를 직접 호출하면 프록시가 없으므로 새 객체가 만들어진다
+     */
+
+    static final String CONFIGURATION_CLASS_ATTRIBUTE =
+            Conventions.getQualifiedAttributeName(ConfigurationClassPostProcessor.class, "configurationClass");
+
+    //Registrar 가 빈 생성 중에 읽으므로 동기화한다 (병렬로 빈을 만드는 빈 팩토리)
+    private final Set<String> bypassedConfigurations = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final Map<String, String> proxiedConfigurations = new LinkedHashMap<>();
+    private boolean registrarAdded;
+
+    @Override
+    public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) throws BeansException {
+        if (registry instanceof ConfigurableListableBeanFactory beanFactory) {
+            bypass(registry, beanFactory.getBeanClassLoader());
+            addRegistrar(beanFactory);
+        } else {
+            bypass(registry, ClassUtils.getDefaultClassLoader());
+        }
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (beanFactory instanceof BeanDefinitionRegistry registry) {
+            bypass(registry, beanFactory.getBeanClassLoader());
+        }
+        addRegistrar(beanFactory);
+    }
+
+    public Set<String> getBypassedConfigurations() {
+        return Collections.unmodifiableSet(bypassedConfigurations);
+    }
+
+    /**
+     * @return 빈 이름 -> 프록시를 유지한 이유
+     */
+    public Map<String, String> getProxiedConfigurations() {
+        return Collections.unmodifiableMap(proxiedConfigurations);
+    }
+
+    private void bypass(BeanDefinitionRegistry registry, ClassLoader classLoader) {
+
+        for (String beanName : registry.getBeanDefinitionNames()) {
+
+            if (bypassedConfigurations.contains(beanName) || proxiedConfigurations.containsKey(beanName)) {
+                continue;
+            }
+            BeanDefinition beanDefinition = registry.getBeanDefinition(beanName);
+            if (!"full".equals(beanDefinition.getAttribute(CONFIGURATION_CLASS_ATTRIBUTE))) {
+                continue; //아직 ConfigurationClassPostProcessor 가 처리하지 않았거나 lite 인 빈
+            }
+            if (registry instanceof SingletonBeanRegistry singletons && singletons.containsSingleton(beanName)) {
+                //이미 만들어진 인스턴스는 Registrar 를 거치지 않으므로 바뀐 호출이 컨테이너 조회로 연결되지 않는다
+                proxiedConfigurations.put(beanName, "instantiated before bypass");
+                continue;
+            }
+            String className = beanDefinition.getBeanClassName();
+            if (className == null || className.contains(ClassUtils.CGLIB_CLASS_SEPARATOR)) {
+                continue;
+            }
+
+            ClassLoader beanClassLoader = beanDefinition instanceof AbstractBeanDefinition abstractBeanDefinition
+                    && abstractBeanDefinition.hasBeanClass()
+                    ? abstractBeanDefinition.getBeanClass().getClassLoader() : classLoader;
+            byte[] classFile = readClassFile(beanClassLoader, ClassUtils.convertClassNameToResourcePath(className));
+            if (classFile == null) {
+                proxiedConfigurations.put(beanName, "class file not found");
+                continue;
+            }
+
+            InterBeanCallAnalyzer.Result result =
+                    new InterBeanCallAnalyzer(internalName -> readClassFile(beanClassLoader, internalName)).analyze(classFile);
+            if (result.canBypassProxy()) {
+                beanDefinition.setAttribute(CONFIGURATION_CLASS_ATTRIBUTE, "lite");
+                bypassedConfigurations.add(beanName);
+            } else {
+                proxiedConfigurations.put(beanName,
+                        result.isSafe() ? result.interBeanCalls().size() + " inter-bean calls not rewritten" : result.unsafeReason());
+            }
+        }
+    }
+
+    /**
+     * lite 로 바꾼 구성 정보가 생기면 Registrar 를 한 번 등록한다
+     * - lite 로 바꾼 뒤 Registrar 를 등록하기 전에 바꾼 구성 정보가 만들어졌으면 싱글톤이 깨지므로 실패시킨다
+     *   (빈 정의 등록 단계에서 빈 팩토리가 아닌 레지스트리를 받은 경우에만 생길 수 있다)
+     */
+    private void addRegistrar(ConfigurableListableBeanFactory beanFactory) {
+        if (registrarAdded || bypassedConfigurations.isEmpty()) {
+            return;
+        }
+        for (String beanName : getBypassedConfigurations()) {
+            if (beanFactory.containsSingleton(beanName)
+                    && beanFactory.getSingleton(beanName).getClass().isAnnotationPresent(InterBeanCallsRewritten.class)) {
+                throw new IllegalStateException("configuration '" + beanName
+                        + "' was instantiated before ConfigurationProxyBypass could register it; "
+                        + "register ConfigurationProxyBypass before anything that instantiates it");
+            }
+        }
+        beanFactory.addBeanPostProcessor(new Registrar(beanFactory, bypassedConfigurations));
+        registrarAdded = true;
+    }
+
+    private static byte[] readClassFile(ClassLoader classLoader, String internalName) {
+        try (InputStream in = classLoader.getResourceAsStream(internalName + ".class")) {
+            return in != null ? in.readAllBytes() : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * lite 로 바꾼 구성 정보 인스턴스를 InterBeanCalls 에 등록해서, 바뀐 호출이 이 빈 팩토리에서 빈을 꺼내게 한다
+     * - beanNames 는 등록한 뒤에 lite 로 바뀐 구성 정보도 보이도록 ConfigurationProxyBypass 의 집합을 그대로 참조한다
+     */
+    private record Registrar(BeanFactory beanFactory, Set<String> beanNames) implements DestructionAwareBeanPostProcessor {
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+            if (beanNames.contains(beanName) && requiresDestruction(bean)) {
+                InterBeanCalls.register(bean, beanFactory);
+            }
+            return bean;
+        }
+
+        @Override
+        public void postProcessBeforeDestruction(Object bean, String beanName) throws BeansException {
+            if (beanNames.contains(beanName)) {
+                InterBeanCalls.unregister(bean);
+            }
+        }
+
+        @Override
+        public boolean requiresDestruction(Object bean) {
+            return bean.getClass().isAnnotationPresent(InterBeanCallsRewritten.class);
+        }
+
+    }
+
+}
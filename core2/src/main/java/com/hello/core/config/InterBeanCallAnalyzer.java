@@ -0,0 +1,253 @@
+package com.hello.core.config;
+
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.Handle;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.asm.Type;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class InterBeanCallAnalyzer {
+
+    /**
+     * @Configuration 클래스의 바이트코드에서 @Bean 메소드끼리의 호출(inter-bean call)을 찾는다
+     * - CGLIB 프록시는 이 호출을 가로채서 싱글톤을 돌려주는 역할만 하므로
+     *   호출이 없거나, 호출이 모두 컨테이너 조회로 바뀐 클래스는 프록시 없이(lite 모드) 써도 싱글톤이 유지된다
+     * - 클래스 파일만 읽고 클래스를 로딩하지 않는다(스프링 내장 ASM 사용)
+     *
+     * 안전하지 않다고 판단하는 경우(unsafeReason)
+     * - Object 가 아닌 부모 클래스가 있다(상속받은 @Bean 메소드 호출을 볼 수 없다)
+     * - 파라미터가 있는 @Bean 메소드를 직접 호출하거나, super/private 호출을 한다
+     * - this::memberRepository 처럼 메소드 참조로 @Bean 메소드를 넘긴다
+     * - 중첩 클래스(익명 클래스 등)에서 바깥 클래스의 @Bean 메소드를 호출한다
+     */
+
+    static final String CONFIGURATION_DESCRIPTOR = "Lorg/springframework/context/annotation/Configuration;";
+    static final String BEAN_DESCRIPTOR = "Lorg/springframework/context/annotation/Bean;";
+    static final String REWRITTEN_DESCRIPTOR = Type.getDescriptor(InterBeanCallsRewritten.class);
+
+    private final Function<String, byte[]> classFileLoader;
+
+    /**
+     * @param classFileLoader 내부 이름(com/hello/core/AppConfig$Inner)으로 클래스 파일을 읽는다, 없으면 null
+     */
+    public InterBeanCallAnalyzer(Function<String, byte[]> classFileLoader) {
+        this.classFileLoader = classFileLoader;
+    }
+
+    public Result analyze(byte[] classFile) {
+
+        ClassReader reader = new ClassReader(classFile);
+        ClassScanner scanner = new ClassScanner();
+        reader.accept(scanner, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+
+        List<String> unsafeReasons = new ArrayList<>();
+        if (!"java/lang/Object".equals(scanner.superName)) {
+            unsafeReasons.add("extends " + Type.getObjectType(scanner.superName).getClassName());
+        }
+
+        List<InterBeanCall> calls = new ArrayList<>();
+        if (!scanner.beanMethods.isEmpty()) {
+            reader.accept(new CallScanner(scanner.className, scanner.beanMethods, calls, unsafeReasons),
+                    ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            for (String nestMember : scanner.nestMembers) {
+                byte[] nestClassFile = classFileLoader.apply(nestMember);
+                if (nestClassFile == null) {
+                    unsafeReasons.add("cannot read nested class " + nestMember);
+                    continue;
+                }
+                List<InterBeanCall> nestedCalls = new ArrayList<>();
+                new ClassReader(nestClassFile).accept(new CallScanner(scanner.className, scanner.beanMethods, nestedCalls, unsafeReasons),
+                        ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+                for (InterBeanCall call : nestedCalls) {
+                    unsafeReasons.add("nested class " + Type.getObjectType(nestMember).getClassName()
+                            + " calls " + call.target().methodName() + "()");
+                }
+            }
+        }
+
+        return new Result(Type.getObjectType(scanner.className).getClassName(), scanner.configuration, scanner.rewritten,
+                List.copyOf(scanner.beanMethods.values()), List.copyOf(calls),
+                unsafeReasons.isEmpty() ? null : String.join(", ", unsafeReasons));
+    }
+
+    public record BeanMethod(String methodName, String descriptor, String beanName) {
+    }
+
+    public record InterBeanCall(String callerMethod, BeanMethod target) {
+    }
+
+    /**
+     * @param configuration proxyBeanMethods 가 false 가 아닌 @Configuration 이 직접 붙어 있는지
+     * @param rewritten ConfigurationClassRewriter 가 호출을 컨테이너 조회로 바꾼 클래스인지
+     * @param unsafeReason 프록시를 생략할 수 없는 이유, 없으면 null
+     */
+    public record Result(String className, boolean configuration, boolean rewritten, List<BeanMethod> beanMethods,
+                         List<InterBeanCall> interBeanCalls, String unsafeReason) {
+
+        public boolean isSafe() {
+            return unsafeReason == null;
+        }
+
+        /**
+         * CGLIB 프록시 없이도 싱글톤이 유지되는지
+         */
+        public boolean canBypassProxy() {
+            return isSafe() && (interBeanCalls.isEmpty() || rewritten);
+        }
+
+        /**
+         * 빌드 시점에 호출을 바꿔야 프록시를 생략할 수 있는지
+         */
+        public boolean needsRewrite() {
+            return configuration && isSafe() && !rewritten && !interBeanCalls.isEmpty();
+        }
+
+    }
+
+    private static class ClassScanner extends ClassVisitor {
+
+        private String className;
+        private String superName;
+        private boolean configuration;
+        private boolean rewritten;
+        private final List<String> nestMembers = new ArrayList<>();
+        private final Map<String, BeanMethod> beanMethods = new LinkedHashMap<>(); //이름 + 디스크립터
+
+        ClassScanner() {
+            super(SpringAsmInfo.ASM_VERSION);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            this.className = name;
+            this.superName = superName;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            if (REWRITTEN_DESCRIPTOR.equals(descriptor)) {
+                rewritten = true;
+            }
+            if (!CONFIGURATION_DESCRIPTOR.equals(descriptor)) {
+                return null;
+            }
+            configuration = true;
+            return new AnnotationVisitor(api) {
+                @Override
+                public void visit(String name, Object value) {
+                    if ("proxyBeanMethods".equals(name) && Boolean.FALSE.equals(value)) {
+                        configuration = false;
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void visitNestMember(String nestMember) {
+            nestMembers.add(nestMember);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            if ((access & Opcodes.ACC_STATIC) != 0) {
+                return null; //static @Bean 메소드는 CGLIB 도 가로채지 않는다
+            }
+            return new MethodVisitor(api) {
+
+                private boolean bean;
+                private String beanName;
+
+                @Override
+                public AnnotationVisitor visitAnnotation(String annotationDescriptor, boolean visible) {
+                    if (!BEAN_DESCRIPTOR.equals(annotationDescriptor)) {
+                        return null;
+                    }
+                    bean = true;
+                    return new AnnotationVisitor(api) {
+                        @Override
+                        public AnnotationVisitor visitArray(String attribute) {
+                            if (!"name".equals(attribute) && !"value".equals(attribute)) {
+                                return null;
+                            }
+                            return new AnnotationVisitor(api) {
+                                @Override
+                                public void visit(String ignored, Object value) {
+                                    if (beanName == null) {
+                                        beanName = (String) value;
+                                    }
+                                }
+                            };
+                        }
+                    };
+                }
+
+                @Override
+                public void visitEnd() {
+                    if (bean) {
+                        beanMethods.put(name + descriptor, new BeanMethod(name, descriptor, beanName != null ? beanName : name));
+                    }
+                }
+            };
+        }
+
+    }
+
+    private static class CallScanner extends ClassVisitor {
+
+        private final String owner;
+        private final Map<String, BeanMethod> beanMethods;
+        private final List<InterBeanCall> calls;
+        private final List<String> unsafeReasons;
+
+        CallScanner(String owner, Map<String, BeanMethod> beanMethods, List<InterBeanCall> calls, List<String> unsafeReasons) {
+            super(SpringAsmInfo.ASM_VERSION);
+            this.owner = owner;
+            this.beanMethods = beanMethods;
+            this.calls = calls;
+            this.unsafeReasons = unsafeReasons;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String callerName, String callerDescriptor, String signature, String[] exceptions) {
+            return new MethodVisitor(api) {
+
+                @Override
+                public void visitMethodInsn(int opcode, String callOwner, String name, String descriptor, boolean isInterface) {
+                    BeanMethod target = owner.equals(callOwner) ? beanMethods.get(name + descriptor) : null;
+                    if (target == null) {
+                        return;
+                    }
+                    calls.add(new InterBeanCall(callerName, target));
+                    if (opcode != Opcodes.INVOKEVIRTUAL) {
+                        unsafeReasons.add(callerName + "() calls " + name + "() without virtual dispatch");
+                    } else if (Type.getArgumentTypes(descriptor).length > 0) {
+                        unsafeReasons.add(callerName + "() calls " + name + "() with arguments");
+                    } else if (Type.getReturnType(descriptor).getSort() < Type.ARRAY) {
+                        unsafeReasons.add(name + "() returns a primitive");
+                    }
+                }
+
+                @Override
+                public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle, Object... bootstrapMethodArguments) {
+                    for (Object argument : bootstrapMethodArguments) {
+                        if (argument instanceof Handle handle && owner.equals(handle.getOwner())
+                                && beanMethods.containsKey(handle.getName() + handle.getDesc())) {
+                            unsafeReasons.add(callerName + "() references " + handle.getName() + "() as a method handle");
+                        }
+                    }
+                }
+            };
+        }
+
+    }
+
+}
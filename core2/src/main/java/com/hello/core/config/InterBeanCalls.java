@@ -0,0 +1,43 @@
+package com.hello.core.config;
+
+import org.springframework.beans.factory.BeanFactory;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+public final class InterBeanCalls {
+
+    /**
+     * 바뀐 @Bean 메소드 호출이 실행 시 사용하는 컨테이너 조회
+     * - 구성 정보 인스턴스마다 자신을 만든 빈 팩토리를 등록해 둔다(ConfigurationProxyBypass)
+     * - 등록된 인스턴스면 빈 팩토리에서 빈을 꺼내고, 아니면 NOT_REGISTERED 를 돌려줘서 원래 메소드를 그대로 호출하게 한다
+     *   (new AppConfig() 처럼 컨테이너 밖에서 쓰거나, CGLIB 프록시가 유지된 경우)
+     * - @Bean 메소드가 null 을 돌려주면 컨테이너는 NullBean 으로 저장한다, CGLIB 프록시처럼 null 로 바꿔서 돌려준다
+     */
+
+    public static final Object NOT_REGISTERED = new Object();
+
+    private static final Map<Object, BeanFactory> beanFactories = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private InterBeanCalls() {
+    }
+
+    public static Object resolve(Object configuration, String beanName) {
+        BeanFactory beanFactory = beanFactories.get(configuration);
+        if (beanFactory == null) {
+            return NOT_REGISTERED;
+        }
+        Object bean = beanFactory.getBean(beanName);
+        return bean.equals(null) ? null : bean; //NullBean 은 null 과 같다고 답한다
+    }
+
+    static void register(Object configuration, BeanFactory beanFactory) {
+        beanFactories.put(configuration, beanFactory);
+    }
+
+    static void unregister(Object configuration) {
+        beanFactories.remove(configuration);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.hello.core.config;
+
+import java.lang.annotation.*;
+
+/**
+ * ConfigurationClassRewriter 가 @Bean 메소드 호출을 컨테이너 조회로 바꾼 클래스에 붙는다
+ * - 직접 붙이지 않는다(빌드 시점에 바이트코드에 추가된다)
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface InterBeanCallsRewritten {
+}
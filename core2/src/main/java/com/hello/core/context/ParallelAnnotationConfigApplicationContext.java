@@ -0,0 +1,62 @@
+package com.hello.core.context;
+
+import org.springframework.beans.BeansException;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelAnnotationConfigApplicationContext extends AnnotationConfigApplicationContext {
+
+    /**
+     * 싱글톤 빈을 병렬로 생성하는 AnnotationConfigApplicationContext
+     * - 사용법은 AnnotationConfigApplicationContext 와 같고, 원할 때만 선택해서 사용한다(opt-in)
+     * - 빈 생성은 ParallelBeanFactory 가 ForkJoinPool 에서 의존관계 순서대로 진행한다
+     * - 생성 중에 실행되는 빈 후처리기와 초기화 메소드는 여러 스레드에서 동시에 호출될 수 있으므로 스레드 안전해야 한다
+     * - refresh 가 끝나면 성공, 실패와 상관없이 풀을 종료한다
+     */
+
+    private final ForkJoinPool pool;
+    private final ParallelBeanFactory parallelBeanFactory;
+
+    public ParallelAnnotationConfigApplicationContext() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelAnnotationConfigApplicationContext(int parallelism) {
+        this(new ForkJoinPool(parallelism));
+    }
+
+    public ParallelAnnotationConfigApplicationContext(Class<?>... componentClasses) {
+        this();
+        register(componentClasses);
+        refresh();
+    }
+
+    private ParallelAnnotationConfigApplicationContext(ForkJoinPool pool) {
+        this(pool, new ParallelBeanFactory(pool));
+    }
+
+    private ParallelAnnotationConfigApplicationContext(ForkJoinPool pool, ParallelBeanFactory beanFactory) {
+        super(beanFactory);
+        this.pool = pool;
+        this.parallelBeanFactory = beanFactory;
+    }
+
+    /**
+     * 병렬로 생성한 빈 이름
+     */
+    public Set<String> getParallelBeanNames() {
+        return parallelBeanFactory.getParallelBeanNames();
+    }
+
+    @Override
+    public void refresh() throws BeansException, IllegalStateException {
+        try {
+            super.refresh();
+        } finally {
+            pool.shutdown(); //병렬 생성은 preInstantiateSingletons 안에서 모두 끝나므로 남은 작업은 없다
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.hello.core.context;
+
+import org.springframework.beans.BeansException;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+public class TypeIndexedApplicationContext extends AnnotationConfigApplicationContext {
+
+    /**
+     * 타입 조회 인덱스(TypeIndexedBeanFactory)를 사용하는 AnnotationConfigApplicationContext
+     * - 사용법은 AnnotationConfigApplicationContext 와 같고, 원할 때만 선택해서 사용한다(opt-in)
+     * - refresh 가 끝나면 getBean(Class), getBeansOfType(Class) 가 미리 계산한 인덱스로 처리된다
+     * - 요청마다 타입으로 빈을 조회하는 코드에서 빈 정의를 훑는 비용을 없애기 위해 사용한다
+     */
+
+    private final TypeIndexedBeanFactory typeIndexedBeanFactory;
+
+    public TypeIndexedApplicationContext() {
+        this(new TypeIndexedBeanFactory());
+    }
+
+    public TypeIndexedApplicationContext(Class<?>... componentClasses) {
+        this();
+        register(componentClasses);
+        refresh();
+    }
+
+    private TypeIndexedApplicationContext(TypeIndexedBeanFactory beanFactory) {
+        super(beanFactory);
+        this.typeIndexedBeanFactory = beanFactory;
+    }
+
+    /**
+     * @Qualifier 값(또는 빈 이름)이 같은 빈을 조회한다
+     */
+    public <T> T getBean(Class<T> requiredType, String qualifier) throws BeansException {
+        assertBeanFactoryActive();
+        return typeIndexedBeanFactory.getBean(requiredType, qualifier);
+    }
+
+    @Override
+    protected void finishRefresh() {
+        super.finishRefresh();
+        typeIndexedBeanFactory.buildTypeIndex(); //라이프사이클 처리기 등 refresh 마지막에 등록되는 싱글톤까지 포함
+    }
+
+    public int getIndexedTypeCount() {
+        return typeIndexedBeanFactory.getIndexedTypeCount();
+    }
+
+}
@@ -0,0 +1,274 @@
+package com.hello.core.context;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TypeIndexedBeanFactory extends DefaultListableBeanFactory {
+
+    /**
+     * 타입 조회를 미리 계산해 둔 인덱스로 처리하는 빈 팩토리
+     * - 기본 빈 팩토리의 getBean(Class) 는 호출할 때마다 후보를 찾고 @Primary, 우선순위를 다시 판단한다
+     * - 싱글톤 생성이 끝난 뒤(preInstantiateSingletons) 모든 빈 타입의 부모 클래스, 인터페이스마다
+     *   후보 빈 이름과 최종 선택될 빈 이름(후보가 하나이거나 @Primary 가 하나)을 계산해서 고정해 둔다
+     * - getBean(Class), getBeanNamesForType(Class), getBeansOfType(Class) 는 해시 조회 한 번으로 후보를 찾는다
+     * - 빈 이름과 함께 @Qualifier 값도 기록해서 getBean(Class, qualifier) 도 인덱스로 처리한다
+     *
+     * 인덱스를 사용하지 않는 경우
+     * - 제네릭 타입(ResolvableType) 조회, 싱글톤이 아닌 빈만 찾는 조회 등은 기본 빈 팩토리로 처리한다
+     * - 인덱스에 없는 타입이나, 후보가 여럿이라 우선순위(@Priority) 판단이 필요한 타입도 기본 빈 팩토리로 처리한다
+     * - 빈 정의나 싱글톤이 새로 등록되면 인덱스를 버리고 다음 조회 때 다시 만든다
+     */
+
+    private static final long serialVersionUID = 1L;
+
+    private volatile boolean indexEnabled;
+    private volatile Map<Class<?>, TypeEntry> typeIndex;
+
+    @Override
+    public void preInstantiateSingletons() throws BeansException {
+        super.preInstantiateSingletons();
+        indexEnabled = true;
+    }
+
+    /**
+     * 인덱스를 바로 만든다, 호출하지 않으면 싱글톤 생성 후 첫 조회 때 만든다
+     */
+    public void buildTypeIndex() {
+        if (indexEnabled) {
+            typeIndex = buildIndex();
+        }
+    }
+
+    @Override
+    public <T> T getBean(Class<T> requiredType) throws BeansException {
+        TypeEntry entry = indexEntry(requiredType);
+        if (entry != null && entry.selectedName() != null) {
+            return getBean(entry.selectedName(), requiredType);
+        }
+        return super.getBean(requiredType);
+    }
+
+    /**
+     * @Qualifier 값(또는 빈 이름)이 같은 빈을 조회한다
+     */
+    public <T> T getBean(Class<T> requiredType, String qualifier) throws BeansException {
+
+        TypeEntry entry = indexEntry(requiredType);
+        String[] candidateNames = entry != null ? entry.beanNames() : super.getBeanNamesForType(requiredType, true, true);
+
+        List<String> matches = new ArrayList<>();
+        for (String candidateName : candidateNames) {
+            String candidateQualifier = entry != null ? entry.qualifiers().get(candidateName) : qualifierOf(candidateName);
+            if (qualifier.equals(candidateQualifier) || qualifier.equals(candidateName)) {
+                matches.add(candidateName);
+            }
+        }
+
+        if (matches.isEmpty()) {
+            throw new NoSuchBeanDefinitionException(requiredType, "no bean qualified '" + qualifier + "'");
+        }
+        if (matches.size() > 1) {
+            throw new NoUniqueBeanDefinitionException(requiredType, matches);
+        }
+        return getBean(matches.get(0), requiredType);
+    }
+
+    @Override
+    public String[] getBeanNamesForType(Class<?> type, boolean includeNonSingletons, boolean allowEagerInit) {
+        if (includeNonSingletons && allowEagerInit) {
+            TypeEntry entry = indexEntry(type);
+            if (entry != null) {
+                return entry.beanNames().clone();
+            }
+        }
+        return super.getBeanNamesForType(type, includeNonSingletons, allowEagerInit);
+    }
+
+    @Override
+    public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) {
+        super.registerBeanDefinition(beanName, beanDefinition);
+        typeIndex = null;
+    }
+
+    @Override
+    public void removeBeanDefinition(String beanName) throws NoSuchBeanDefinitionException {
+        super.removeBeanDefinition(beanName);
+        typeIndex = null;
+    }
+
+    @Override
+    public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
+        super.registerSingleton(beanName, singletonObject);
+        typeIndex = null;
+    }
+
+    @Override
+    public void destroySingletons() {
+        indexEnabled = false;
+        typeIndex = null;
+        super.destroySingletons();
+    }
+
+    /**
+     * 인덱스에 들어있는 타입 수, 아직 만들지 않았으면 0
+     */
+    public int getIndexedTypeCount() {
+        Map<Class<?>, TypeEntry> index = typeIndex;
+        return index != null ? index.size() : 0;
+    }
+
+    private TypeEntry indexEntry(Class<?> type) {
+        if (type == null || !indexEnabled) {
+            return null;
+        }
+        Map<Class<?>, TypeEntry> index = typeIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = typeIndex;
+                if (index == null) {
+                    index = buildIndex();
+                    typeIndex = index;
+                }
+            }
+        }
+        return index.get(type);
+    }
+
+    private Map<Class<?>, TypeEntry> buildIndex() {
+
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Set<String> beanNames = new LinkedHashSet<>(Arrays.asList(getBeanDefinitionNames()));
+        beanNames.addAll(Arrays.asList(getSingletonNames()));
+        for (String beanName : beanNames) {
+            collectTypes(getType(beanName, false), types);
+            if (isFactoryBeanName(beanName)) {
+                collectTypes(getType(FACTORY_BEAN_PREFIX + beanName, false), types);
+            }
+        }
+
+        Map<String, String> qualifiers = new HashMap<>();
+        for (String beanName : beanNames) {
+            String qualifier = qualifierOf(beanName);
+            if (qualifier != null) {
+                qualifiers.put(beanName, qualifier);
+            }
+        }
+
+        Map<Class<?>, TypeEntry> index = new HashMap<>();
+        for (Class<?> type : types) {
+            String[] candidateNames = super.getBeanNamesForType(type, true, true);
+            if (candidateNames.length == 0) {
+                continue;
+            }
+            Map<String, String> candidateQualifiers = new HashMap<>();
+            for (String candidateName : candidateNames) {
+                String qualifier = qualifiers.get(candidateName);
+                if (qualifier != null) {
+                    candidateQualifiers.put(candidateName, qualifier);
+                }
+            }
+            index.put(type, new TypeEntry(candidateNames, selectName(candidateNames), Map.copyOf(candidateQualifiers)));
+        }
+        return Map.copyOf(index);
+    }
+
+    private boolean isFactoryBeanName(String beanName) {
+        try {
+            return isFactoryBean(beanName);
+        } catch (NoSuchBeanDefinitionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * getBean(Class) 가 고를 빈을 미리 정한다 (후보가 하나, 또는 자동 주입 후보 중 @Primary 가 하나)
+     * - 정할 수 없으면 null 을 돌려주고, 조회 시 기본 빈 팩토리가 우선순위를 판단하거나 예외를 던지게 한다
+     */
+    private String selectName(String[] candidateNames) {
+
+        if (candidateNames.length == 1) {
+            return candidateNames[0];
+        }
+
+        List<String> autowireCandidates = new ArrayList<>();
+        for (String candidateName : candidateNames) {
+            if (!containsBeanDefinition(candidateName) || getBeanDefinition(candidateName).isAutowireCandidate()) {
+                autowireCandidates.add(candidateName);
+            }
+        }
+        if (autowireCandidates.size() == 1) {
+            return autowireCandidates.get(0);
+        }
+
+        String primaryName = null;
+        for (String candidateName : autowireCandidates) {
+            if (containsBeanDefinition(candidateName) && getMergedBeanDefinition(candidateName).isPrimary()) {
+                if (primaryName != null) {
+                    return null;
+                }
+                primaryName = candidateName;
+            }
+        }
+        return primaryName;
+    }
+
+    private String qualifierOf(String beanName) {
+
+        if (!containsBeanDefinition(beanName)) {
+            return null;
+        }
+        BeanDefinition beanDefinition = getBeanDefinition(beanName);
+
+        if (beanDefinition instanceof AnnotatedBeanDefinition annotatedBeanDefinition) {
+            MethodMetadata factoryMethodMetadata = annotatedBeanDefinition.getFactoryMethodMetadata();
+            MergedAnnotations annotations = factoryMethodMetadata != null
+                    ? factoryMethodMetadata.getAnnotations() : annotatedBeanDefinition.getMetadata().getAnnotations();
+            MergedAnnotation<Qualifier> qualifier = annotations.get(Qualifier.class);
+            if (qualifier.isPresent()) {
+                return qualifier.getString("value");
+            }
+        }
+        if (beanDefinition instanceof AbstractBeanDefinition abstractBeanDefinition) {
+            AutowireCandidateQualifier qualifier = abstractBeanDefinition.getQualifier(Qualifier.class.getName());
+            if (qualifier != null) {
+                return (String) qualifier.getAttribute(AutowireCandidateQualifier.VALUE_KEY);
+            }
+        }
+        return null;
+    }
+
+    private static void collectTypes(Class<?> beanType, Set<Class<?>> types) {
+        for (Class<?> type = beanType; type != null; type = type.getSuperclass()) {
+            types.add(type);
+            types.addAll(ClassUtils.getAllInterfacesForClassAsSet(type));
+        }
+    }
+
+    /**
+     * @param beanNames 타입에 맞는 빈 이름(getBeanNamesForType 결과와 같은 순서)
+     * @param selectedName getBean(Class) 가 돌려줄 빈 이름, 판단할 수 없으면 null
+     * @param qualifiers 빈 이름 -> @Qualifier 값
+     */
+    private record TypeEntry(String[] beanNames, String selectedName, Map<String, String> qualifiers) {
+    }
+
+}
@@ -1,22 +1,25 @@
 package com.hello.core.discount;
 
+import com.hello.core.common.CoreMetrics;
 import com.hello.core.member.Grade;
 import com.hello.core.member.Member;
+import io.micrometer.core.instrument.DistributionSummary;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 @Component
 public class FixDiscountPolicy implements DiscountPolicy {
 
+    private static final DistributionSummary DISCOUNT_AMOUNT = CoreMetrics.summary("discount.amount", "won", "policy", "fix");
+
     private int discountFixAmount = 1000;
 
     @Override
     public int discount(Member member, int price) {
 
-        if(member.getGrade() == Grade.VIP){
-            return discountFixAmount;
-        }
+        int discountAmount = member.getGrade() == Grade.VIP ? discountFixAmount : 0;
+        DISCOUNT_AMOUNT.record(discountAmount);
 
-        return 0;
+        return discountAmount;
     }
 }
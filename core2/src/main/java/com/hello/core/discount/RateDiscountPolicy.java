@@ -1,8 +1,10 @@
 package com.hello.core.discount;
 
 import com.hello.core.annotation.MainDiscountPolicy;
+import com.hello.core.common.CoreMetrics;
 import com.hello.core.member.Grade;
 import com.hello.core.member.Member;
+import io.micrometer.core.instrument.DistributionSummary;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
@@ -12,16 +14,17 @@ import org.springframework.stereotype.Component;
 @MainDiscountPolicy
 public class RateDiscountPolicy implements DiscountPolicy {
 
+    private static final DistributionSummary DISCOUNT_AMOUNT = CoreMetrics.summary("discount.amount", "won", "policy", "rate");
+
     private int discountPercent = 10;
 
     @Override
     public int discount(Member member, int price) {
 
-        if(member.getGrade() == Grade.VIP){
-            return price * discountPercent / 100;
-        }
+        int discountAmount = member.getGrade() == Grade.VIP ? price * discountPercent / 100 : 0;
+        DISCOUNT_AMOUNT.record(discountAmount);
 
-        return 0;
+        return discountAmount;
     }
 
 }
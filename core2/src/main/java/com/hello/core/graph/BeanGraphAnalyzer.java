@@ -0,0 +1,28 @@
+package com.hello.core.graph;
+
+import org.springframework.util.ClassUtils;
+
+public class BeanGraphAnalyzer {
+
+    /**
+     * 구성 정보로 컨테이너를 띄우고 빈 의존관계 그래프, 시작 임계 경로, 사용하지 않는 빈을 출력한다
+     * - args : 구성 정보 클래스 이름 (com.hello.core.AutoAppConfig 등)
+     * - 시작 직후에 분석하므로 조회 횟수는 0 이다, 실제 사용 후의 결과는 BeanGraphApplicationContext.getReport() 로 확인한다
+     */
+    public static void main(String[] args) throws ClassNotFoundException {
+
+        if (args.length == 0) {
+            throw new IllegalArgumentException("usage: BeanGraphAnalyzer <componentClass>...");
+        }
+
+        Class<?>[] componentClasses = new Class<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            componentClasses[i] = ClassUtils.forName(args[i], BeanGraphAnalyzer.class.getClassLoader());
+        }
+
+        try (BeanGraphApplicationContext ac = new BeanGraphApplicationContext(componentClasses)) {
+            System.out.print(ac.getReport().format());
+        }
+    }
+
+}
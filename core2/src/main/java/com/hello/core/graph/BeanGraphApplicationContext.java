@@ -0,0 +1,132 @@
+package com.hello.core.graph;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class BeanGraphApplicationContext extends AnnotationConfigApplicationContext {
+
+    /**
+     * 빈 의존관계 그래프를 분석하는 AnnotationConfigApplicationContext
+     * - 사용법은 AnnotationConfigApplicationContext 와 같고, 분석할 때만 사용한다(빈 생성, 조회마다 기록 비용이 든다)
+     * - 의존관계는 컨테이너가 주입하면서 등록한 정보(getDependenciesForBean)를 사용한다
+     *   (생성자, 수정자, 필드 주입과 @Configuration 의 @Bean 메소드 호출)
+     * - 시작 임계 경로 : 빈은 의존하는 빈이 모두 만들어진 뒤에 만들어지므로,
+     *   자기 초기화 시간 합이 가장 큰 의존관계 경로가 병렬로 만들어도 줄일 수 없는 시작 시간이다
+     * - 사용하지 않는 빈 : 아무도 주입받지 않고 시작 후 조회도 되지 않은 빈, 지연 로딩(@Lazy)이나 제거 후보다
+     * - 리포트는 조회 횟수가 쌓인 뒤, 컨테이너를 닫기 전에 만든다
+     */
+
+    private final BeanGraphBeanFactory graphBeanFactory;
+
+    public BeanGraphApplicationContext() {
+        this(new BeanGraphBeanFactory());
+    }
+
+    public BeanGraphApplicationContext(Class<?>... componentClasses) {
+        this();
+        register(componentClasses);
+        refresh();
+    }
+
+    private BeanGraphApplicationContext(BeanGraphBeanFactory beanFactory) {
+        super(beanFactory);
+        this.graphBeanFactory = beanFactory;
+    }
+
+    @Override
+    protected void finishRefresh() {
+        super.finishRefresh();
+        graphBeanFactory.markStarted();
+    }
+
+    public BeanGraphReport getReport() {
+
+        assertBeanFactoryActive();
+        List<String> beanNames = Arrays.asList(getBeanDefinitionNames());
+        Set<String> known = new HashSet<>(beanNames);
+        Map<String, Long> initNanos = graphBeanFactory.getInitNanos();
+
+        Map<String, List<String>> dependencies = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (String beanName : beanNames) {
+            List<String> beanDependencies = Arrays.stream(graphBeanFactory.getDependenciesForBean(beanName))
+                    .filter(known::contains)
+                    .distinct()
+                    .toList();
+            dependencies.put(beanName, beanDependencies);
+            for (String dependency : beanDependencies) {
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(beanName);
+            }
+        }
+
+        Map<String, BeanGraphReport.BeanNode> beans = new LinkedHashMap<>();
+        List<String> unusedBeans = new ArrayList<>();
+        for (String beanName : beanNames) {
+            Class<?> type = graphBeanFactory.getType(beanName, false);
+            long lookupCount = graphBeanFactory.getLookupCount(beanName);
+            List<String> beanDependents = List.copyOf(dependents.getOrDefault(beanName, List.of()));
+            beans.put(beanName, new BeanGraphReport.BeanNode(beanName, type != null ? type.getName() : null,
+                    initNanos.getOrDefault(beanName, 0L), dependencies.get(beanName), beanDependents, lookupCount));
+
+            BeanDefinition beanDefinition = graphBeanFactory.getBeanDefinition(beanName);
+            if (beanDefinition.getRole() == BeanDefinition.ROLE_APPLICATION && beanDependents.isEmpty() && lookupCount == 0) {
+                unusedBeans.add(beanName);
+            }
+        }
+
+        //경로 가중치 = 자기 시간 + 가장 무거운 의존 대상 경로
+        Map<String, Long> pathNanos = new HashMap<>();
+        Map<String, String> next = new HashMap<>();
+        String heaviest = null;
+        for (String beanName : beanNames) {
+            long nanos = pathNanos(beanName, dependencies, initNanos, pathNanos, next, new HashSet<>());
+            if (heaviest == null || nanos > pathNanos.get(heaviest)) {
+                heaviest = beanName;
+            }
+        }
+
+        List<String> criticalPath = new ArrayList<>();
+        for (String beanName = heaviest; beanName != null; beanName = next.get(beanName)) {
+            criticalPath.add(beanName);
+        }
+
+        return new BeanGraphReport(beans, criticalPath, heaviest != null ? pathNanos.get(heaviest) : 0, unusedBeans);
+    }
+
+    private static long pathNanos(String beanName, Map<String, List<String>> dependencies, Map<String, Long> initNanos,
+                                  Map<String, Long> pathNanos, Map<String, String> next, Set<String> visiting) {
+
+        Long computed = pathNanos.get(beanName);
+        if (computed != null) {
+            return computed;
+        }
+        visiting.add(beanName);
+
+        long heaviestDependency = 0;
+        for (String dependency : dependencies.getOrDefault(beanName, List.of())) {
+            if (visiting.contains(dependency)) {
+                continue; //순환 참조는 경로에 넣지 않는다, next 가 순환하면 임계 경로가 끝나지 않는다
+            }
+            long nanos = pathNanos(dependency, dependencies, initNanos, pathNanos, next, visiting);
+            if (!next.containsKey(beanName) || nanos > heaviestDependency) {
+                heaviestDependency = nanos;
+                next.put(beanName, dependency);
+            }
+        }
+        visiting.remove(beanName);
+
+        long nanos = initNanos.getOrDefault(beanName, 0L) + heaviestDependency;
+        pathNanos.put(beanName, nanos);
+        return nanos;
+    }
+
+}
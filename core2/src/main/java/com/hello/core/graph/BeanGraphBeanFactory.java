@@ -0,0 +1,104 @@
+package com.hello.core.graph;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+class BeanGraphBeanFactory extends DefaultListableBeanFactory {
+
+    /**
+     * 빈 그래프 분석에 필요한 정보를 기록하는 빈 팩토리
+     * - 빈마다 생성 직전부터 초기화 콜백이 끝날 때까지 걸린 시간을 잰다
+     * - 의존하는 빈은 같은 스레드에서 중첩 생성되므로, 스레드 별 스택으로 중첩 생성 시간을 빼서 자기 시간만 기록한다
+     * - 싱글톤 생성이 끝난 뒤(markStarted)에는 빈 조회(getBean, 자동 주입 포함)를 빈 이름 별로 센다
+     * - 시간은 처음 생성될 때만 기록한다(프로토타입은 첫 번째 생성 시간)
+     */
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, Long> initNanos = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> lookupCounts = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<Frame>> creating = ThreadLocal.withInitial(ArrayDeque::new);
+    private volatile boolean started;
+
+    BeanGraphBeanFactory() {
+        addBeanPostProcessor(new InitTimeRecorder());
+    }
+
+    @Override
+    protected <T> T doGetBean(String name, Class<T> requiredType, Object[] args, boolean typeCheckOnly) throws BeansException {
+        if (started && !typeCheckOnly) {
+            lookupCounts.computeIfAbsent(transformedBeanName(name), key -> new LongAdder()).increment();
+        }
+        return super.doGetBean(name, requiredType, args, typeCheckOnly);
+    }
+
+    void markStarted() {
+        started = true;
+    }
+
+    Map<String, Long> getInitNanos() {
+        return initNanos;
+    }
+
+    long getLookupCount(String beanName) {
+        LongAdder count = lookupCounts.get(beanName);
+        return count != null ? count.sum() : 0;
+    }
+
+    private static final class Frame {
+
+        private final String beanName;
+        private final long startNanos;
+        private long nestedNanos;
+
+        private Frame(String beanName, long startNanos) {
+            this.beanName = beanName;
+            this.startNanos = startNanos;
+        }
+
+    }
+
+    private class InitTimeRecorder implements InstantiationAwareBeanPostProcessor {
+
+        @Override
+        public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+            creating.get().push(new Frame(beanName, System.nanoTime()));
+            return null;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+            Deque<Frame> frames = creating.get();
+            if (frames.stream().noneMatch(frame -> frame.beanName.equals(beanName))) {
+                return bean; //FactoryBean 이 만든 객체의 후처리 등 생성 시작을 기록하지 않은 호출
+            }
+            Frame frame = frames.poll();
+            while (frame != null && !frame.beanName.equals(beanName)) {
+                frame = frames.poll(); //생성에 실패해서 남은 프레임은 버린다
+            }
+            if (frame != null) {
+                long elapsedNanos = System.nanoTime() - frame.startNanos;
+                initNanos.putIfAbsent(beanName, Math.max(0, elapsedNanos - frame.nestedNanos));
+                Frame parent = frames.peek();
+                if (parent != null) {
+                    parent.nestedNanos += elapsedNanos;
+                }
+            }
+            if (frames.isEmpty()) {
+                creating.remove();
+            }
+
+            return bean;
+        }
+
+    }
+
+}
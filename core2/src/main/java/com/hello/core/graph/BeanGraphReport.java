@@ -0,0 +1,45 @@
+package com.hello.core.graph;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 빈 의존관계 그래프 분석 결과
+ * @param beans 빈 이름 -> 노드 (빈 정의 등록 순서)
+ * @param criticalPath 초기화 시간 합이 가장 큰 의존관계 경로 (의존하는 빈 -> 의존 대상 빈 순서)
+ * @param criticalPathNanos 경로의 초기화 시간 합, 빈을 아무리 병렬로 만들어도 시작 시간은 이보다 줄지 않는다
+ * @param unusedBeans 다른 빈이 의존하지 않고, 시작 후 한 번도 조회되지 않은 애플리케이션 빈 (지연 로딩이나 제거 후보)
+ */
+public record BeanGraphReport(Map<String, BeanNode> beans, List<String> criticalPath, long criticalPathNanos,
+                              List<String> unusedBeans) {
+
+    /**
+     * @param initNanos 의존하는 빈 생성 시간을 뺀 자기 생성, 초기화 시간 (생성되지 않았으면 0)
+     * @param dependencies 이 빈이 의존하는 빈
+     * @param dependents 이 빈에 의존하는 빈
+     * @param lookupCount 시작 후 조회된 횟수
+     */
+    public record BeanNode(String name, String type, long initNanos, List<String> dependencies,
+                           List<String> dependents, long lookupCount) {
+    }
+
+    public String format() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("beans").append(System.lineSeparator());
+        for (BeanNode bean : beans.values()) {
+            sb.append(String.format("  %-30s %10.3f ms  lookups=%-6d -> %s%n", bean.name(), millis(bean.initNanos()),
+                    bean.lookupCount(), bean.dependencies().isEmpty() ? "-" : String.join(", ", bean.dependencies())));
+        }
+        sb.append(String.format("critical path (%.3f ms)%n  %s%n", millis(criticalPathNanos),
+                criticalPath.isEmpty() ? "-" : String.join(" -> ", criticalPath)));
+        sb.append("unused beans").append(System.lineSeparator());
+        sb.append("  ").append(unusedBeans.isEmpty() ? "-" : String.join(", ", unusedBeans)).append(System.lineSeparator());
+        return sb.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+}
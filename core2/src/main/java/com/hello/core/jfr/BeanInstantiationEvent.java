@@ -0,0 +1,22 @@
+package com.hello.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.hello.core.BeanInstantiation")
+@Label("Bean Instantiation")
+@Description("스프링 빈 생성부터 초기화 콜백이 끝날 때 까지, 의존하는 빈의 생성 시간도 포함된다")
+@Category({"Hello Core", "Container"})
+@StackTrace(false)
+public class BeanInstantiationEvent extends jdk.jfr.Event {
+
+    @Label("Bean Name")
+    public String beanName;
+
+    @Label("Bean Class")
+    public Class<?> beanClass;
+
+}
@@ -0,0 +1,80 @@
+package com.hello.core.jfr;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+public class JfrBeanInstantiationPostProcessor implements InstantiationAwareBeanPostProcessor, BeanFactoryAware {
+
+    /**
+     * 빈 생성 JFR 이벤트
+     * - 인스턴스 생성 직전(postProcessBeforeInstantiation)에 이벤트를 시작하고
+     * - 초기화 콜백까지 끝난 직후(postProcessAfterInitialization)에 이벤트를 기록한다
+     * - 빈 생성 중에 의존하는 빈이 같은 스레드에서 중첩 생성되므로 스레드 별로 빈 이름을 키로 진행 중인 이벤트를 보관한다
+     * - JFR 기록 중이 아니면 이벤트를 만들지 않는다
+     * - 이 후처리기 보다 먼저 생성되는 빈(다른 BeanPostProcessor 등)은 기록되지 않는다
+     * - 생성에 실패한 빈은 postProcessAfterInitialization 이 호출되지 않는다
+     *   다음 이벤트를 시작할 때 컨테이너가 더 이상 생성 중으로 보지 않는 빈의 이벤트를 기록하지 않고 버린다
+     */
+
+    private final ThreadLocal<Map<String, BeanInstantiationEvent>> inProgress = ThreadLocal.withInitial(HashMap::new);
+    private ConfigurableBeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        if (beanFactory instanceof ConfigurableBeanFactory configurableBeanFactory) {
+            this.beanFactory = configurableBeanFactory;
+        }
+    }
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+
+        BeanInstantiationEvent event = new BeanInstantiationEvent();
+        if (event.isEnabled()) {
+            Map<String, BeanInstantiationEvent> events = inProgress.get();
+            if (beanFactory != null) {
+                events.keySet().removeIf(name -> !beanFactory.isCurrentlyInCreation(name));
+            }
+            event.beanName = beanName;
+            event.beanClass = beanClass;
+            event.begin();
+            events.put(beanName, event);
+        }
+
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+        Map<String, BeanInstantiationEvent> events = inProgress.get();
+        BeanInstantiationEvent event = events.remove(beanName);
+        if (event != null) {
+            event.commit();
+        }
+        if (events.isEmpty()) {
+            inProgress.remove();
+        }
+
+        return bean;
+    }
+
+    //현재 스레드에서 기록을 기다리는 이벤트 수
+    int inProgressCount() {
+        Map<String, BeanInstantiationEvent> events = inProgress.get();
+        int count = events.size();
+        if (count == 0) {
+            inProgress.remove();
+        }
+        return count;
+    }
+
+}
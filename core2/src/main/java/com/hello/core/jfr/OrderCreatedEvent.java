@@ -0,0 +1,28 @@
+package com.hello.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.hello.core.OrderCreated")
+@Label("Order Created")
+@Description("OrderServiceImpl.createOrder 호출 한 건")
+@Category({"Hello Core", "Order"})
+@StackTrace(false)
+public class OrderCreatedEvent extends jdk.jfr.Event {
+
+    @Label("Member Id")
+    public long memberId;
+
+    @Label("Item Name")
+    public String itemName;
+
+    @Label("Item Price")
+    public int itemPrice;
+
+    @Label("Discount Price")
+    public int discountPrice;
+
+}
@@ -0,0 +1,22 @@
+package com.hello.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.hello.core.RequestScope")
+@Label("Request Scope")
+@Description("request 스코프 빈이 생성(init)된 시점부터 소멸(close)된 시점까지")
+@Category({"Hello Core", "Web"})
+@StackTrace(false)
+public class RequestScopeEvent extends jdk.jfr.Event {
+
+    @Label("UUID")
+    public String uuid;
+
+    @Label("Request URL")
+    public String requestURL;
+
+}
@@ -0,0 +1,230 @@
+package com.hello.core.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadGenerator {
+
+    /**
+     * 일정한 도착률(constant arrival rate)로 요청을 보내는 부하 생성기 (open model)
+     * - 응답을 기다리지 않고 1/rate 간격의 예정 시각마다 요청을 보낸다, targets 는 순서대로 돌아가며 보낸다
+     * - 지연 시간은 실제로 보낸 시각이 아니라 예정 시각부터 잰다 (coordinated omission 보정)
+     *   서버가 멈춘 동안 보내지 못하고 밀린 요청도 사용자가 기다린 만큼의 지연으로 기록된다
+     * - 처리 중인 요청이 maxInFlight 에 닿으면 다음 요청은 자리가 날 때까지 늦게 보내지만, 지연은 여전히 예정 시각부터 잰다
+     * - warmup 동안 예정된 요청은 보내기만 하고 기록하지 않는다 (JIT, 연결 수립, 풀 초기화 제외)
+     * - 결과는 HdrHistogram(마이크로초, 유효숫자 3자리)으로 기록한다
+     *
+     * 실행
+     * - ./gradlew bootRun 으로 앱을 띄운 뒤 ./gradlew loadTest --args='--rate=500 --duration=60s'
+     * - 앱 시작부터 종료까지 한 번에 : scripts/load-test.sh
+     */
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final URI baseUri;
+    private final List<LoadTarget> targets;
+    private final double ratePerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+
+    public LoadGenerator(URI baseUri, List<LoadTarget> targets, double ratePerSecond,
+                         Duration warmup, Duration duration, int maxInFlight, Duration requestTimeout) {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("no targets");
+        }
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be positive: " + ratePerSecond);
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.baseUri = baseUri;
+        this.targets = List.copyOf(targets);
+        this.ratePerSecond = ratePerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * --base-url=http://localhost:8080 : 부하를 줄 앱 주소
+     * --target=/log-demo : 요청 (여러 번 지정 가능, 형식은 LoadTarget.parse)
+     * --rate=200 : 초당 요청 수
+     * --warmup=10s, --duration=30s : 워밍업, 측정 시간
+     * --max-in-flight=512 : 동시에 처리 중일 수 있는 최대 요청 수
+     * --timeout=5s : 요청 타임아웃
+     * --out=build/load-test : 히스토그램 파일(.hgrm)을 쓸 디렉토리 (생략 시 쓰지 않는다)
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+
+        String baseUrl = "http://localhost:8080";
+        List<LoadTarget> targets = new ArrayList<>();
+        double rate = 200;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        int maxInFlight = 512;
+        Duration timeout = Duration.ofSeconds(5);
+        Path out = null;
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("usage: LoadGenerator [--base-url=] [--target=]... [--rate=] "
+                        + "[--warmup=] [--duration=] [--max-in-flight=] [--timeout=] [--out=]");
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "base-url" -> baseUrl = value;
+                case "target" -> targets.add(LoadTarget.parse(value));
+                case "rate" -> rate = Double.parseDouble(value);
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "timeout" -> timeout = DurationStyle.detectAndParse(value);
+                case "out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException("unknown option: " + arg);
+            }
+        }
+        if (targets.isEmpty()) {
+            targets.add(LoadTarget.parse("/log-demo"));
+        }
+
+        LoadGenerator generator = new LoadGenerator(URI.create(baseUrl), targets, rate, warmup, duration, maxInFlight, timeout);
+        LoadReport report = generator.run();
+        System.out.print(report.format());
+        if (out != null) {
+            report.writeHistograms(out);
+            System.out.println("histograms written to " + out.toAbsolutePath());
+        }
+    }
+
+    public LoadReport run() throws InterruptedException {
+
+        Map<String, Recording> recordings = new LinkedHashMap<>();
+        List<Recording> recordingByTarget = new ArrayList<>();
+        List<HttpRequest> requests = new ArrayList<>();
+        for (LoadTarget target : targets) {
+            recordingByTarget.add(recordings.computeIfAbsent(target.name(), name -> new Recording()));
+            requests.add(target.toRequest(baseUri, requestTimeout));
+        }
+
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "load-generator-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .executor(executor)
+                .build();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicLong maxSendDelay = new AtomicLong();
+
+        try {
+            long start = System.nanoTime();
+            long measureStart = start + warmup.toNanos();
+            long end = measureStart + duration.toNanos();
+            double intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+
+            for (long i = 0; ; i++) {
+                //간격을 누적하지 않고 매번 시작 시각에서 계산해서 반올림 오차가 쌓이지 않게 한다
+                long intended = start + (long) (i * intervalNanos);
+                if (intended - end >= 0) {
+                    break;
+                }
+                parkUntil(intended);
+                inFlight.acquire();
+
+                int index = (int) (i % requests.size());
+                Recording recording = intended - measureStart >= 0 ? recordingByTarget.get(index) : null;
+                long sent = System.nanoTime();
+                if (recording != null) {
+                    maxSendDelay.accumulateAndGet(sent - intended, Math::max);
+                }
+                client.sendAsync(requests.get(index), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            long completed = System.nanoTime();
+                            if (recording != null) {
+                                recording.record(intended, sent, completed, error != null || response.statusCode() >= 400);
+                            }
+                            inFlight.release(); //기록한 뒤에 돌려줘야 마지막 응답까지 결과에 들어간다
+                        });
+            }
+
+            //남은 요청은 타임아웃 안에 모두 끝난다 (끝나지 않은 요청은 기록되지 않는다)
+            inFlight.tryAcquire(maxInFlight, requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(1), TimeUnit.NANOSECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, LoadReport.TargetStats> stats = new LinkedHashMap<>();
+        Recording total = new Recording();
+        recordings.forEach((name, recording) -> {
+            stats.put(name, recording.toStats());
+            total.add(recording);
+        });
+        return new LoadReport(ratePerSecond, duration.toNanos(), stats, total.toStats(), maxSendDelay.get());
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    //응답 스레드 여러 개가 동시에 기록하므로 ConcurrentHistogram 을 사용한다
+    private static final class Recording {
+
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long intended, long sent, long completed, boolean error) {
+            latency.recordValue(micros(completed - intended));
+            serviceTime.recordValue(micros(completed - sent));
+            if (error) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void add(Recording other) {
+            latency.add(other.latency);
+            serviceTime.add(other.serviceTime);
+            errors.addAndGet(other.errors.get());
+        }
+
+        LoadReport.TargetStats toStats() {
+            return new LoadReport.TargetStats(latency.copy(), serviceTime.copy(), errors.get());
+        }
+
+        private static long micros(long nanos) {
+            return Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.hello.core.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * 부하 테스트 결과 (히스토그램 단위는 마이크로초)
+ * @param targetRate 목표 초당 요청 수
+ * @param durationNanos 측정 구간 길이 (워밍업 제외)
+ * @param targets 요청 이름 -> 결과 (targets 지정 순서)
+ * @param total 모든 요청을 합친 결과
+ * @param maxSendDelayNanos 예정 시각보다 늦게 보낸 최대 시간, 크면 부하 생성기 자체가 목표 속도를 따라가지 못한 것이다
+ */
+public record LoadReport(double targetRate, long durationNanos, Map<String, TargetStats> targets, TargetStats total,
+                         long maxSendDelayNanos) {
+
+    /**
+     * @param latency 예정 시각부터 응답까지 (coordinated omission 보정, 사용자가 겪는 지연)
+     * @param serviceTime 실제로 보낸 시각부터 응답까지 (보정 전, 서버 처리 시간에 가깝다)
+     * @param errors 예외(타임아웃, 연결 실패)나 4xx, 5xx 응답 수, 지연 시간에는 포함된다
+     */
+    public record TargetStats(Histogram latency, Histogram serviceTime, long errors) {
+
+        public long requests() {
+            return latency.getTotalCount();
+        }
+
+    }
+
+    public double achievedRate() {
+        return total.requests() / (durationNanos / 1_000_000_000.0);
+    }
+
+    public String format() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("target rate %.1f/s, achieved %.1f/s, max send delay %.3f ms%n",
+                targetRate, achievedRate(), maxSendDelayNanos / 1_000_000.0));
+        sb.append(String.format("  %-30s %9s %7s %10s %10s %10s %10s %14s%n",
+                "target", "requests", "errors", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "service p99(ms)"));
+        targets.forEach((name, stats) -> sb.append(formatRow(name, stats)));
+        if (targets.size() > 1) {
+            sb.append(formatRow("total", total));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 요청마다 <이름>.hgrm(보정 지연), <이름>-service.hgrm(보정 전) 백분위 분포 파일을 밀리초 단위로 쓴다
+     * - HdrHistogram 플로터(hdrhistogram.github.io/HdrHistogram/plotFiles.html)로 릴리스 간 분포를 겹쳐 볼 수 있다
+     */
+    public void writeHistograms(Path directory) throws IOException {
+
+        Files.createDirectories(directory);
+        for (Map.Entry<String, TargetStats> entry : targets.entrySet()) {
+            writeHistograms(directory, fileName(entry.getKey()), entry.getValue());
+        }
+        writeHistograms(directory, "total", total);
+    }
+
+    private static void writeHistograms(Path directory, String name, TargetStats stats) throws IOException {
+        writeDistribution(directory.resolve(name + ".hgrm"), stats.latency());
+        writeDistribution(directory.resolve(name + "-service.hgrm"), stats.serviceTime());
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    //"POST /orders?x=1" -> "post-orders-x-1"
+    private static String fileName(String targetName) {
+        return targetName.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+    }
+
+    private static String formatRow(String name, TargetStats stats) {
+        Histogram latency = stats.latency();
+        return String.format("  %-30s %9d %7d %10.3f %10.3f %10.3f %10.3f %14.3f%n", name, stats.requests(), stats.errors(),
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(99)),
+                millis(latency.getValueAtPercentile(99.9)), millis(latency.getMaxValue()),
+                millis(stats.serviceTime().getValueAtPercentile(99)));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+}
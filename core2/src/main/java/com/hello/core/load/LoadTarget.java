@@ -0,0 +1,44 @@
+package com.hello.core.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * 부하를 줄 요청
+ * @param method HTTP 메소드
+ * @param path baseUri 기준 경로 (쿼리 스트링 포함 가능)
+ * @param body 요청 본문, 있으면 application/json 으로 보낸다 (없으면 null)
+ */
+public record LoadTarget(String method, String path, String body) {
+
+    /**
+     * "[METHOD ]path[ body]" 형식 (METHOD 생략 시 GET)
+     * - "/log-demo", "GET /members/1", "POST /orders {\"memberId\":1,\"itemName\":\"itemA\",\"itemPrice\":10000}"
+     */
+    public static LoadTarget parse(String spec) {
+
+        String trimmed = spec.trim();
+        String[] parts = (trimmed.startsWith("/") ? "GET " + trimmed : trimmed).split("\\s+", 3);
+        if (parts.length < 2 || !parts[1].startsWith("/")) {
+            throw new IllegalArgumentException("target must be \"[METHOD ]path[ body]\": " + spec);
+        }
+        return new LoadTarget(parts[0].toUpperCase(), parts[1], parts.length > 2 ? parts[2] : null);
+    }
+
+    public String name() {
+        return method + " " + path;
+    }
+
+    HttpRequest toRequest(URI baseUri, Duration timeout) {
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+}
@@ -1,11 +1,26 @@
 package com.hello.core.member;
 
+import com.hello.core.common.CoreMetrics;
+import com.hello.core.trace.Span;
+import com.hello.core.trace.Tracer;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 @Component
 public class MemberServiceImpl implements MemberService {
 
+    /**
+     * 메트릭
+     * - AppConfig 나 테스트에서 new 로 직접 생성해도 기록되도록 빈 주입이 아닌 전역 레지스트리를 사용한다
+     * - 스프링 부트는 자신의 MeterRegistry 를 전역 레지스트리에 추가하므로 /actuator/metrics 에서 조회할 수 있다
+     * - 레지스트리가 하나도 없으면 아무것도 기록하지 않는 noop 으로 동작한다
+     */
+    private static final Timer JOIN_TIMER = CoreMetrics.methodTimer("member.service", "join");
+    private static final Timer FIND_MEMBER_TIMER = CoreMetrics.methodTimer("member.service", "findMember");
+
     private final MemberRepository memberRepository;
 
     /**
@@ -27,12 +42,26 @@ public class MemberServiceImpl implements MemberService {
 
     @Override
     public void join(Member member) {
-        memberRepository.save(member);
+        long start = System.nanoTime();
+        Span span = Tracer.global().startSpan("MemberService.join");
+        try {
+            memberRepository.save(member);
+        } finally {
+            span.close();
+            JOIN_TIMER.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     @Override
     public Member findMember(Long memberId) {
-        return memberRepository.findById(memberId);
+        long start = System.nanoTime();
+        Span span = Tracer.global().startSpan("MemberService.findMember");
+        try {
+            return memberRepository.findById(memberId);
+        } finally {
+            span.close();
+            FIND_MEMBER_TIMER.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     //테스트 용도
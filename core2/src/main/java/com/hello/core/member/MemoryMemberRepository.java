@@ -1,5 +1,9 @@
 package com.hello.core.member;
 
+import com.hello.core.trace.Span;
+import com.hello.core.trace.Tracer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
@@ -10,14 +14,30 @@ public class MemoryMemberRepository implements MemberRepository {
 
     private static Map<Long, Member> store = new HashMap<>();
 
+    static {
+        Gauge.builder("member.repository.size", store, Map::size)
+                .description("number of stored members")
+                .register(Metrics.globalRegistry);
+    }
+
     @Override
     public void save(Member member) {
-        store.put(member.getMemberId(), member);
+        Span span = Tracer.global().startSpan("MemberRepository.save");
+        try {
+            store.put(member.getMemberId(), member);
+        } finally {
+            span.close();
+        }
     }
 
     @Override
     public Member findById(Long memberId) {
-        return store.get(memberId);
+        Span span = Tracer.global().startSpan("MemberRepository.findById");
+        try {
+            return store.get(memberId);
+        } finally {
+            span.close();
+        }
     }
 
 }
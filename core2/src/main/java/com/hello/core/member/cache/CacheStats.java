@@ -0,0 +1,27 @@
+package com.hello.core.member.cache;
+
+/**
+ * 캐시 통계 스냅샷
+ * - hit / miss : 캐시 조회 성공, 실패 횟수
+ * - load : 캐시 미스로 원본 저장소를 조회한 횟수
+ * - eviction / expiration : 크기 초과로 제거된 횟수, TTL 만료로 제거된 횟수
+ * - pendingWrite / writeFailure : 아직 원본에 반영되지 않은 쓰기 수, 원본 반영 실패 횟수
+ */
+public record CacheStats(long hitCount,
+                         long missCount,
+                         long loadCount,
+                         long evictionCount,
+                         long expirationCount,
+                         long pendingWriteCount,
+                         long writeFailureCount) {
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+}
@@ -0,0 +1,267 @@
+package com.hello.core.member.cache;
+
+import com.hello.core.member.Member;
+import com.hello.core.member.MemberRepository;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public class CachingMemberRepository implements MemberRepository, AutoCloseable {
+
+    /**
+     * MemberRepository 캐시 데코레이터
+     * - 원본 저장소(backingRepository)를 감싸서 조회 결과를 메모리에 캐싱한다
+     * - 캐시에 없거나 TTL 이 지난 회원은 원본 저장소에서 읽어서 캐시를 채운다(read-through)
+     * - 최대 크기를 넘으면 가장 오래 사용되지 않은 회원부터 제거한다(LRU)
+     * - 회원 id 마다 버전을 두고 save, invalidate 때 올린다. 원본에서 읽은 값은 읽기 전과 버전이 같을 때만 캐시에 넣어서
+     *   읽는 도중 무효화된 이전 값이 TTL 동안 남지 않게 한다 (버전은 id 해시로 나눈 칸에 두므로 메모리가 늘지 않는다)
+     *
+     * 쓰기 정책
+     * - write-through : save 시 캐시와 원본 저장소에 바로 반영한다(기본값)
+     * - write-behind : save 시 캐시에만 반영하고, 원본 저장소 반영은 모아서 배치로 처리한다
+     * - write-behind 는 같은 회원에 대한 여러 번의 쓰기를 마지막 값 하나로 합친다
+     * - 원본 반영 전에 캐시에서 제거된 회원도 대기 중인 쓰기에서 먼저 찾기 때문에 이전 값이 보이지 않는다
+     * - close 후의 save 는 IllegalStateException 으로 거절한다 (close 와 경쟁한 쓰기는 직접 원본에 반영한다)
+     */
+
+    private final MemberRepository backingRepository;
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final Map<Long, CacheEntry> entries; //this 로 동기화
+    private final long[] versions = new long[VERSION_STRIPES]; //this 로 동기화
+    private final Map<Long, Member> pendingWrites = new ConcurrentHashMap<>();
+    private final int writeBehindBatchSize;
+    private final ScheduledExecutorService flusher;
+    private final Object flushLock = new Object();
+    private volatile boolean closed;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+    private final LongAdder writeFailureCount = new LongAdder();
+
+    public CachingMemberRepository(MemberRepository backingRepository, int maximumSize, Duration ttl) {
+        this(backingRepository, maximumSize, ttl, 0, null, System::nanoTime);
+    }
+
+    public CachingMemberRepository(MemberRepository backingRepository, int maximumSize, Duration ttl,
+                                   int writeBehindBatchSize, Duration flushInterval) {
+        this(backingRepository, maximumSize, ttl, writeBehindBatchSize, flushInterval, System::nanoTime);
+    }
+
+    CachingMemberRepository(MemberRepository backingRepository, int maximumSize, Duration ttl,
+                            int writeBehindBatchSize, Duration flushInterval, LongSupplier ticker) {
+
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+
+        this.backingRepository = backingRepository;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        this.writeBehindBatchSize = writeBehindBatchSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CacheEntry> eldest) {
+                if (size() > CachingMemberRepository.this.maximumSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        if (writeBehindBatchSize > 0) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "member-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalNanos = flushInterval.toNanos();
+            flusher.scheduleWithFixedDelay(this::flushQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    @Override
+    public void save(Member member) {
+
+        if (closed) {
+            throw new IllegalStateException("repository is closed");
+        }
+        if (flusher == null) {
+            backingRepository.save(member);
+            update(member.getMemberId(), member);
+            return;
+        }
+
+        pendingWrites.put(member.getMemberId(), member);
+        update(member.getMemberId(), member);
+
+        if (closed) {
+            flush(); //close 의 마지막 flush 가 이미 끝났을 수 있으므로 직접 반영한다
+        } else if (pendingWrites.size() >= writeBehindBatchSize) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                flush(); //그 사이 close 가 flusher 를 종료한 경우
+            }
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+
+        Member cached = getIfPresent(memberId);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        missCount.increment();
+        long version = version(memberId); //읽기 전에 기록해야 읽는 도중의 무효화를 알 수 있다
+
+        //원본에 아직 반영되지 않은 쓰기가 있으면 그 값이 최신이다
+        Member pending = pendingWrites.get(memberId);
+        if (pending != null) {
+            putIfUnchanged(memberId, pending, version);
+            return pending;
+        }
+
+        loadCount.increment();
+        Member loaded = backingRepository.findById(memberId);
+        if (loaded != null) {
+            putIfUnchanged(memberId, loaded, version);
+        }
+        return loaded;
+    }
+
+    public synchronized void invalidate(Long memberId) {
+        versions[stripe(memberId)]++;
+        entries.remove(memberId);
+    }
+
+    public synchronized void invalidateAll() {
+        for (int i = 0; i < versions.length; i++) {
+            versions[i]++;
+        }
+        entries.clear();
+    }
+
+    public boolean isWriteBehind() {
+        return flusher != null;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 대기 중인 쓰기를 원본 저장소에 반영한다
+     * - 반영 도중 같은 회원에 새로운 쓰기가 들어오면 그 쓰기는 다음 flush 까지 남겨둔다
+     * - 원본 반영에 실패한 회원은 대기 목록에 남겨두고 다음 flush 에서 다시 시도한다
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            RuntimeException failure = null;
+            for (Map.Entry<Long, Member> pending : pendingWrites.entrySet()) {
+                Member member = pending.getValue();
+                try {
+                    backingRepository.save(member);
+                    pendingWrites.remove(pending.getKey(), member);
+                } catch (RuntimeException e) {
+                    writeFailureCount.increment();
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(
+                hitCount.sum(),
+                missCount.sum(),
+                loadCount.sum(),
+                evictionCount.sum(),
+                expirationCount.sum(),
+                pendingWrites.size(),
+                writeFailureCount.sum());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            //실패한 쓰기는 대기 목록에 남아 있으므로 다음 주기에 다시 시도된다
+        }
+    }
+
+    private synchronized Member getIfPresent(Long memberId) {
+        CacheEntry entry = entries.get(memberId);
+        if (entry == null) {
+            return null;
+        }
+        if (ticker.getAsLong() - entry.expiresAt > 0) {
+            entries.remove(memberId);
+            expirationCount.increment();
+            return null;
+        }
+        return entry.member;
+    }
+
+    //이 노드의 쓰기, 버전을 올려서 진행 중인 읽기가 이전 값을 넣지 못하게 한다
+    private synchronized void update(Long memberId, Member member) {
+        versions[stripe(memberId)]++;
+        entries.put(memberId, new CacheEntry(member, ticker.getAsLong() + ttlNanos));
+    }
+
+    private synchronized void putIfUnchanged(Long memberId, Member member, long version) {
+        if (versions[stripe(memberId)] == version) {
+            entries.put(memberId, new CacheEntry(member, ticker.getAsLong() + ttlNanos));
+        }
+    }
+
+    private synchronized long version(Long memberId) {
+        return versions[stripe(memberId)];
+    }
+
+    private static int stripe(Long memberId) {
+        return Long.hashCode(memberId * 0x9E3779B97F4A7C15L) & (VERSION_STRIPES - 1);
+    }
+
+    private record CacheEntry(Member member, long expiresAt) {
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.hello.core.member.cache;
+
+import com.hello.core.member.Member;
+import com.hello.core.member.MemberRepository;
+
+public class CoherentMemberRepository implements MemberRepository, AutoCloseable {
+
+    /**
+     * 여러 노드의 near-cache 를 일관되게 유지하는 MemberRepository
+     * - 각 노드는 자기 CachingMemberRepository 를 가지고, 원본 저장소는 노드들이 공유한다
+     * - save 하면 자기 캐시를 갱신한 뒤 다른 노드에 무효화 메세지를 보낸다
+     * - 다른 노드의 무효화 메세지를 받으면 해당 회원을 캐시에서 제거하고, 다음 조회 때 원본에서 다시 읽는다
+     * - 무효화 메세지는 원본 반영 후에 보내야 다른 노드가 이전 값을 다시 읽지 않으므로 write-through 캐시만 받는다
+     * - 다른 노드가 원본을 읽는 도중 도착한 무효화는 캐시의 버전 확인으로 처리한다 (CachingMemberRepository)
+     */
+
+    private final String nodeId;
+    private final CachingMemberRepository cache;
+    private final InvalidationTransport transport;
+    private final AutoCloseable subscription;
+
+    public CoherentMemberRepository(String nodeId, CachingMemberRepository cache, InvalidationTransport transport) {
+        if (cache.isWriteBehind()) {
+            throw new IllegalArgumentException("write-behind cache publishes invalidations before the shared store is written");
+        }
+        this.nodeId = nodeId;
+        this.cache = cache;
+        this.transport = transport;
+        this.subscription = transport.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    public void save(Member member) {
+        cache.save(member);
+        transport.publish(InvalidationMessage.of(nodeId, member.getMemberId()));
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        return cache.findById(memberId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        transport.publish(InvalidationMessage.all(nodeId));
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public CachingMemberRepository getCache() {
+        return cache;
+    }
+
+    @Override
+    public void close() {
+        try {
+            subscription.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            throw new IllegalStateException("failed to unsubscribe node " + nodeId, e);
+        } finally {
+            cache.close();
+        }
+    }
+
+    private void onInvalidation(InvalidationMessage message) {
+
+        if (nodeId.equals(message.sourceNodeId())) {
+            return;
+        }
+
+        if (message.isInvalidateAll()) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(message.memberId());
+        }
+    }
+
+}
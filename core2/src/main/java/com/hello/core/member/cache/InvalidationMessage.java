@@ -0,0 +1,22 @@
+package com.hello.core.member.cache;
+
+/**
+ * 노드 간에 주고받는 캐시 무효화 메세지
+ * - sourceNodeId : 메세지를 보낸 노드, 자기가 보낸 메세지는 무시하는데 사용
+ * - memberId : 무효화할 회원, null 이면 캐시 전체를 무효화한다
+ */
+public record InvalidationMessage(String sourceNodeId, Long memberId) {
+
+    public static InvalidationMessage of(String sourceNodeId, Long memberId) {
+        return new InvalidationMessage(sourceNodeId, memberId);
+    }
+
+    public static InvalidationMessage all(String sourceNodeId) {
+        return new InvalidationMessage(sourceNodeId, null);
+    }
+
+    public boolean isInvalidateAll() {
+        return memberId == null;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.hello.core.member.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 캐시 무효화 메세지 전송 계층
+ * - 구현체를 바꿔서 같은 JVM(loopback), 멀티캐스트, 메세지 브로커 등으로 전송 방식을 교체할 수 있다
+ * - publish 한 메세지는 보낸 노드를 포함해 구독 중인 모든 노드에 전달된다
+ */
+public interface InvalidationTransport {
+
+    void publish(InvalidationMessage message);
+
+    /**
+     * @return 구독 해지에 사용하는 핸들
+     */
+    AutoCloseable subscribe(Consumer<InvalidationMessage> listener);
+
+}
@@ -0,0 +1,30 @@
+package com.hello.core.member.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    /**
+     * 같은 JVM 안에서 메세지를 전달하는 전송 계층
+     * - 여러 노드를 한 프로세스에서 띄워 테스트할 때 사용한다
+     * - publish 를 호출한 스레드에서 구독자에게 바로 전달하므로, publish 가 끝나면 모든 노드의 무효화가 끝나 있다
+     */
+
+    private final List<Consumer<InvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        for (Consumer<InvalidationMessage> listener : listeners) {
+            listener.accept(message);
+        }
+    }
+
+    @Override
+    public AutoCloseable subscribe(Consumer<InvalidationMessage> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.hello.core.member.shard;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+public class ConsistentHashRing<T> {
+
+    /**
+     * 일관된 해싱(consistent hashing) 링
+     * - 각 노드를 가상 노드 여러 개로 링 위에 뿌려두고, 키는 시계 방향으로 가장 가까운 노드가 담당한다
+     * - 노드가 추가되면 새 노드가 가져가는 구간의 키만 이동하고 나머지 키는 그대로 유지된다
+     * - 가상 노드 수가 많을수록 노드 간 키 분포가 고르게 된다
+     * - 불변 객체다, withNode 는 노드를 추가한 새 링을 돌려주므로 링을 volatile 필드로 교체해서 락 없이 조회할 수 있다
+     */
+
+    //가상 노드 위치는 키와 다른 해시 공간에서 뽑는다 (같은 공간이면 키 0..virtualNodes-1 이 노드 0 의 가상 노드와 겹친다)
+    private static final long VIRTUAL_NODE_SEED = 0x5851F42D4C957F2DL;
+
+    private final int virtualNodes;
+    private final TreeMap<Long, T> ring;
+    private final Set<T> nodes;
+
+    public ConsistentHashRing(int virtualNodes) {
+        this(virtualNodes, new TreeMap<>(), new LinkedHashSet<>());
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+        }
+    }
+
+    private ConsistentHashRing(int virtualNodes, TreeMap<Long, T> ring, Set<T> nodes) {
+        this.virtualNodes = virtualNodes;
+        this.ring = ring;
+        this.nodes = nodes;
+    }
+
+    /**
+     * @return node 를 추가한 새 링 (이 링은 바뀌지 않는다)
+     */
+    public ConsistentHashRing<T> withNode(T node, int nodeId) {
+        TreeMap<Long, T> added = new TreeMap<>(ring);
+        long nodeHash = hash(nodeId ^ VIRTUAL_NODE_SEED);
+        for (int i = 0; i < virtualNodes; i++) {
+            added.put(hash(nodeHash + i), node);
+        }
+        Set<T> addedNodes = new LinkedHashSet<>(nodes);
+        addedNodes.add(node);
+        return new ConsistentHashRing<>(virtualNodes, added, addedNodes);
+    }
+
+    public T nodeFor(long key) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("ring is empty");
+        }
+        SortedMap<Long, T> tail = ring.tailMap(hash(key));
+        return tail.isEmpty() ? ring.firstEntry().getValue() : tail.get(tail.firstKey());
+    }
+
+    public Collection<T> nodes() {
+        return Collections.unmodifiableSet(nodes);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    //SplitMix64 finalizer - 연속된 memberId 도 링 전체에 고르게 흩어진다
+    static long hash(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.hello.core.member.shard;
+
+import com.hello.core.member.Member;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+public class MemberPartition implements AutoCloseable {
+
+    /**
+     * 회원 파티션
+     * - 파티션마다 자기 저장소와 전용 스레드를 가진다
+     * - 저장소는 전용 스레드에서만 접근하기 때문에 락이 없는 HashMap 으로 충분하다
+     * - 다른 스레드는 작업을 전용 스레드에 넘기고 CompletableFuture 로 결과를 받는다
+     */
+
+    private final int partitionId;
+    private final Map<Long, Member> store = new HashMap<>();
+    private final ExecutorService executor;
+
+    public MemberPartition(int partitionId) {
+        this.partitionId = partitionId;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "member-partition-" + partitionId);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<Void> save(Member member) {
+        return CompletableFuture.runAsync(() -> store.put(member.getMemberId(), member), executor);
+    }
+
+    public CompletableFuture<Member> findById(Long memberId) {
+        return CompletableFuture.supplyAsync(() -> store.get(memberId), executor);
+    }
+
+    public CompletableFuture<Void> remove(Long memberId) {
+        return CompletableFuture.runAsync(() -> store.remove(memberId), executor);
+    }
+
+    /**
+     * 다른 파티션에서 옮겨올 회원을 받아서 저장한다(리밸런싱)
+     * - 회원을 다 받을 때 까지 전용 스레드가 기다리므로, 이후에 넘긴 조회, 저장은 옮겨온 회원을 본다
+     * @return 저장한 회원 수
+     */
+    public CompletableFuture<Integer> saveAll(CompletableFuture<List<Member>> members) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Member> received = members.join();
+            for (Member member : received) {
+                store.put(member.getMemberId(), member);
+            }
+            return received.size();
+        }, executor);
+    }
+
+    public CompletableFuture<Integer> size() {
+        return CompletableFuture.supplyAsync(store::size, executor);
+    }
+
+    /**
+     * 조건에 맞는 회원을 저장소에서 꺼낸다(리밸런싱 시 다른 파티션으로 옮길 회원)
+     */
+    public CompletableFuture<List<Member>> extract(LongPredicate memberIdFilter) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Member> extracted = new ArrayList<>();
+            Iterator<Member> iterator = store.values().iterator();
+            while (iterator.hasNext()) {
+                Member member = iterator.next();
+                if (memberIdFilter.test(member.getMemberId())) {
+                    extracted.add(member);
+                    iterator.remove();
+                }
+            }
+            return extracted;
+        }, executor);
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MemberPartition{" + "partitionId=" + partitionId + '}';
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.hello.core.member.shard;
+
+import com.hello.core.member.Member;
+import com.hello.core.member.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class ShardedMemberRepository implements MemberRepository, AutoCloseable {
+
+    /**
+     * memberId 를 일관된 해싱으로 나누어 여러 파티션에 저장하는 MemberRepository
+     * - 하나의 맵, 하나의 락에 모든 회원이 몰리지 않도록 파티션마다 저장소와 스레드를 분리한다
+     * - save / findById 는 해당 회원을 담당하는 파티션으로 라우팅된다
+     * - 라우팅에 쓰는 링은 불변 스냅샷을 volatile 필드로 교체하므로 조회, 저장은 락을 잡지 않는다
+     * - 파티션을 추가하면 새 파티션이 담당하게 된 회원만 옮긴다(리밸런싱)
+     *
+     * 리밸런싱 중 조회, 저장
+     * - 새 파티션은 옮겨올 회원을 다 받은 뒤에 다른 작업을 처리하므로, 새 링으로 라우팅된 요청은 옮겨온 회원을 본다
+     * - 이전 링으로 라우팅된 요청은 회원이 이미 빠져나간 파티션에 닿을 수 있다
+     *   요청이 끝난 뒤 링이 바뀌었으면 새 담당 파티션에서 다시 조회하고, 저장은 새 담당 파티션으로 옮긴다
+     * - size 는 리밸런싱 중에는 정확하지 않을 수 있다
+     */
+
+    private static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private volatile ConsistentHashRing<MemberPartition> ring;
+    private final Object rebalanceLock = new Object(); //파티션 추가끼리만 순서대로 실행한다
+    private int nextPartitionId;
+
+    public ShardedMemberRepository(int partitionCount) {
+        this(partitionCount, DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ShardedMemberRepository(int partitionCount, int virtualNodes) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("partitionCount must be positive: " + partitionCount);
+        }
+        ConsistentHashRing<MemberPartition> initial = new ConsistentHashRing<>(virtualNodes);
+        for (int i = 0; i < partitionCount; i++) {
+            int partitionId = nextPartitionId++;
+            initial = initial.withNode(new MemberPartition(partitionId), partitionId);
+        }
+        this.ring = initial;
+    }
+
+    @Override
+    public void save(Member member) {
+
+        Long memberId = member.getMemberId();
+        ConsistentHashRing<MemberPartition> snapshot = ring;
+        MemberPartition partition = snapshot.nodeFor(memberId);
+        partition.save(member).join();
+
+        ConsistentHashRing<MemberPartition> current = ring;
+        if (current != snapshot) {
+            //회원을 옮긴 뒤에 이전 파티션에 저장됐을 수 있으므로 새 담당 파티션으로 옮긴다
+            MemberPartition owner = current.nodeFor(memberId);
+            if (owner != partition) {
+                partition.remove(memberId).join();
+                owner.save(member).join();
+            }
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+
+        ConsistentHashRing<MemberPartition> snapshot = ring;
+        Member member = snapshot.nodeFor(memberId).findById(memberId).join();
+
+        ConsistentHashRing<MemberPartition> current = ring;
+        if (member == null && current != snapshot) {
+            return current.nodeFor(memberId).findById(memberId).join();
+        }
+        return member;
+    }
+
+    /**
+     * 파티션을 하나 추가하고, 새 파티션이 담당하게 된 회원을 기존 파티션에서 옮긴다
+     * @return 옮겨진 회원 수
+     */
+    public int addPartition() {
+        synchronized (rebalanceLock) {
+
+            int partitionId = nextPartitionId++;
+            MemberPartition added = new MemberPartition(partitionId);
+            ConsistentHashRing<MemberPartition> previous = ring;
+            ConsistentHashRing<MemberPartition> next = previous.withNode(added, partitionId);
+
+            //새 링을 공개하기 전에 옮겨올 회원을 받는 작업을 새 파티션의 첫 작업으로 넣어둔다
+            CompletableFuture<List<Member>> migrating = new CompletableFuture<>();
+            CompletableFuture<Integer> moved = added.saveAll(migrating);
+            ring = next;
+
+            List<CompletableFuture<List<Member>>> extracted = new ArrayList<>();
+            for (MemberPartition partition : previous.nodes()) {
+                extracted.add(partition.extract(memberId -> next.nodeFor(memberId) == added));
+            }
+            CompletableFuture.allOf(extracted.toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    migrating.completeExceptionally(error);
+                    return;
+                }
+                List<Member> members = new ArrayList<>();
+                extracted.forEach(future -> members.addAll(future.join()));
+                migrating.complete(members);
+            });
+            return moved.join();
+        }
+    }
+
+    public int partitionCount() {
+        return ring.size();
+    }
+
+    public int size() {
+        int size = 0;
+        for (MemberPartition partition : ring.nodes()) {
+            size += partition.size().join();
+        }
+        return size;
+    }
+
+    MemberPartition partitionFor(Long memberId) {
+        return ring.nodeFor(memberId);
+    }
+
+    @Override
+    public void close() {
+        synchronized (rebalanceLock) {
+            ring.nodes().forEach(MemberPartition::close);
+        }
+    }
+
+}
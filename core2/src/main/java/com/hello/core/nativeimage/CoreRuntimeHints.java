@@ -0,0 +1,49 @@
+package com.hello.core.nativeimage;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.core.io.ClassPathResource;
+
+public class CoreRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * 네이티브 이미지에 필요한 힌트
+     * - 네이티브 이미지는 빌드 시점에 도달할 수 있는 클래스, 리소스만 포함하므로 런타임에 문자열로 찾는 대상은 미리 알려줘야 한다
+     * - 컴포넌트 스캔 빈과 request 스코프 프록시(MyLogger)는 AOT 처리에서 코드와 힌트가 생성되므로 따로 등록하지 않는다
+     * - XML 설정(app-config.xml)은 실행 시점에 파싱하므로 XML 파일, 스키마와 XML 에 적힌 빈 클래스의 생성자를 등록한다
+     * - XML 의 빈 클래스 목록은 AOT 처리 시점에 XML 을 읽어서 만들기 때문에 XML 을 고쳐도 이곳을 고칠 필요가 없다
+     */
+
+    static final String XML_CONFIG = "app-config.xml";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+
+        hints.resources()
+                .registerPattern(XML_CONFIG)
+                .registerPattern("META-INF/spring.schemas")
+                .registerPattern("META-INF/spring.handlers")
+                .registerPattern("org/springframework/beans/factory/xml/*.xsd");
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(beanFactory);
+        reader.setBeanClassLoader(classLoader);
+        reader.loadBeanDefinitions(new ClassPathResource(XML_CONFIG, classLoader));
+
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (beanDefinition.getBeanClassName() != null) {
+                hints.reflection().registerType(TypeReference.of(beanDefinition.getBeanClassName()),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INTROSPECT_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+    }
+
+}
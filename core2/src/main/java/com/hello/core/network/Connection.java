@@ -0,0 +1,121 @@
+package com.hello.core.network;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+class Connection implements AutoCloseable {
+
+    /**
+     * 하나의 TCP 연결
+     * - 요청마다 id 를 붙여서 "id message" 한 줄로 보내고, 응답도 "id reply" 한 줄로 받는다
+     * - 응답을 기다리지 않고 여러 요청을 연달아 보낼 수 있고(pipelining), 응답 순서가 달라도 id 로 찾아서 완료한다(multiplexing)
+     * - 응답은 연결마다 하나씩 있는 reader 스레드가 읽는다
+     * - 연결이 끊기면 응답을 기다리던 요청을 모두 실패시키고 broken 상태가 된다
+     */
+
+    private final Socket socket;
+    private final Writer writer;
+    private final BufferedReader reader;
+    private final Map<Long, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong nextId;
+    private final Thread readerThread;
+    private volatile boolean broken;
+
+    Connection(String host, int port, int connectTimeoutMillis, AtomicLong nextId) throws IOException {
+        this.socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(host, port), connectTimeoutMillis);
+        this.writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.nextId = nextId;
+        this.readerThread = new Thread(this::readLoop, "network-client-reader-" + socket.getLocalPort());
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    CompletableFuture<String> send(String message) {
+
+        long id = nextId.incrementAndGet();
+        CompletableFuture<String> future = new CompletableFuture<>();
+        inFlight.put(id, future);
+        future.whenComplete((reply, failure) -> inFlight.remove(id));
+
+        if (broken) {
+            future.completeExceptionally(new IOException("connection is broken"));
+            return future;
+        }
+
+        try {
+            synchronized (writer) {
+                writer.write(id + " " + message + "\n");
+                writer.flush();
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+        return future;
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    @Override
+    public void close() {
+        broken = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            //이미 닫힌 연결
+        }
+        failInFlight(new IOException("connection closed"));
+    }
+
+    private void readLoop() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf(' ');
+                long id = Long.parseLong(separator < 0 ? line : line.substring(0, separator));
+                CompletableFuture<String> future = inFlight.get(id);
+                if (future != null) {
+                    future.complete(separator < 0 ? "" : line.substring(separator + 1));
+                }
+            }
+            fail(new IOException("connection closed by peer"));
+        } catch (IOException | NumberFormatException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(Exception cause) {
+        broken = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            //이미 닫힌 연결
+        }
+        failInFlight(cause);
+    }
+
+    private void failInFlight(Exception cause) {
+        for (CompletableFuture<String> future : inFlight.values()) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+}
@@ -0,0 +1,282 @@
+package com.hello.core.network;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PooledNetworkClient {
+
+    /**
+     * 연결 풀을 사용하는 NetworkClient
+     * - 초기화 콜백(@PostConstruct)에서 poolSize 만큼 연결을 미리 맺고, 호출마다 연결을 새로 맺지 않는다
+     * - call 은 응답을 기다리지 않고 CompletableFuture 를 바로 돌려준다
+     * - 처리 중인 요청이 가장 적은 연결로 보내고, 한 연결에서 여러 요청이 동시에 진행될 수 있다(multiplexing)
+     * - healthCheckInterval 마다 PING 을 보내서 응답이 없거나 끊긴 연결은 다시 맺는다
+     * - 호출 중에 끊긴 연결을 발견하면 살아 있는 다른 연결로 보내고, 다시 맺는 것은 헬스 체크 스레드에 맡긴다
+     *   살아 있는 연결이 하나도 없을 때만 호출한 스레드에서 다시 맺는다 (락 밖에서 맺으므로 다른 호출을 막지 않는다)
+     * - 소멸 콜백(@PreDestroy)에서는 새 요청을 거절하고 처리 중인 요청이 끝날 때까지 기다린 뒤 연결을 닫는다(graceful drain)
+     *
+     * 프로토콜
+     * - 요청 "id message", 응답 "id reply" 한 줄 텍스트
+     * - 헬스 체크 요청은 PING, 응답은 PONG
+     */
+
+    static final String PING = "PING";
+    static final String PONG = "PONG";
+
+    private final String host;
+    private final int port;
+    private final Connection[] connections;
+    private final Duration requestTimeout;
+    private final Duration healthCheckInterval;
+    private final Duration drainTimeout;
+    private final AtomicLong nextId = new AtomicLong();
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "network-client-health");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean reconnectScheduled = new AtomicBoolean();
+    private volatile boolean closing;
+
+    public PooledNetworkClient(String host, int port, int poolSize,
+                               Duration requestTimeout, Duration healthCheckInterval, Duration drainTimeout) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("poolSize must be positive: " + poolSize);
+        }
+        this.host = host;
+        this.port = port;
+        this.connections = new Connection[poolSize];
+        this.requestTimeout = requestTimeout;
+        this.healthCheckInterval = healthCheckInterval;
+        this.drainTimeout = drainTimeout;
+    }
+
+    /**
+     * 연결을 맺다가 실패하면 먼저 맺은 연결을 닫고 다시 던진다 (초기화에 실패한 빈은 소멸 콜백이 호출되지 않는다)
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            for (int i = 0; i < connections.length; i++) {
+                connections[i] = connect();
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < connections.length; i++) {
+                if (connections[i] != null) {
+                    connections[i].close();
+                    connections[i] = null;
+                }
+            }
+            throw e;
+        }
+        long intervalNanos = healthCheckInterval.toNanos();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public CompletableFuture<String> call(String message) {
+
+        if (message.indexOf('\n') >= 0 || message.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("message must be a single line");
+        }
+        if (closing) {
+            return CompletableFuture.failedFuture(new IllegalStateException("client is closing"));
+        }
+
+        try {
+            return leastLoaded().send(message).orTimeout(requestTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (UncheckedIOException e) {
+            return CompletableFuture.failedFuture(e.getCause());
+        }
+    }
+
+    public int inFlightCount() {
+        int count = 0;
+        for (Connection connection : snapshot()) {
+            count += connection.inFlightCount();
+        }
+        return count;
+    }
+
+    int connectedCount() {
+        int count = 0;
+        for (Connection connection : snapshot()) {
+            if (!connection.isBroken()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 새 요청을 거절하고, 처리 중인 요청이 끝나거나 drainTimeout 이 지나면 연결을 닫는다
+     */
+    @PreDestroy
+    public void close() {
+
+        closing = true;
+        healthChecker.shutdownNow();
+
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        while (inFlightCount() > 0 && System.nanoTime() - deadline < 0) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        for (Connection connection : snapshot()) {
+            connection.close(); //남은 요청은 실패 처리된다
+        }
+    }
+
+    private Connection leastLoaded() {
+
+        Connection selected = null;
+        boolean broken = false;
+        synchronized (connections) {
+            for (Connection connection : connections) {
+                if (connection == null || connection.isBroken()) {
+                    broken = true;
+                } else if (selected == null || connection.inFlightCount() < selected.inFlightCount()) {
+                    selected = connection;
+                }
+            }
+        }
+
+        if (selected == null) {
+            return reconnectAny();
+        }
+        if (broken) {
+            scheduleReconnect();
+        }
+        return selected;
+    }
+
+    //살아 있는 연결이 없으면 호출한 스레드에서 끊긴 자리를 차례로 다시 맺어 본다
+    private Connection reconnectAny() {
+        UncheckedIOException failure = null;
+        for (int i = 0; i < connections.length; i++) {
+            Connection connection;
+            synchronized (connections) {
+                connection = connections[i];
+            }
+            if (connection != null && !connection.isBroken()) {
+                return connection; //그 사이 다른 스레드가 다시 맺은 경우
+            }
+            try {
+                return replace(i, connection);
+            } catch (UncheckedIOException e) {
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    private void scheduleReconnect() {
+        if (closing || !reconnectScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            healthChecker.execute(this::reconnectBroken);
+        } catch (RejectedExecutionException e) {
+            reconnectScheduled.set(false); //종료 중
+        }
+    }
+
+    private void reconnectBroken() {
+        reconnectScheduled.set(false);
+        for (int i = 0; i < connections.length && !closing; i++) {
+            Connection connection;
+            synchronized (connections) {
+                connection = connections[i];
+            }
+            if (connection == null || connection.isBroken()) {
+                try {
+                    replace(i, connection);
+                } catch (UncheckedIOException e) {
+                    //서버가 아직 응답하지 않으면 다음 헬스 체크나 다음 호출에서 다시 시도한다
+                }
+            }
+        }
+    }
+
+    private void checkHealth() {
+        for (int i = 0; i < connections.length; i++) {
+            Connection connection;
+            synchronized (connections) {
+                connection = connections[i];
+            }
+            if (connection == null || closing) {
+                continue;
+            }
+            boolean healthy;
+            try {
+                healthy = !connection.isBroken()
+                        && PONG.equals(connection.send(PING).get(requestTimeout.toNanos(), TimeUnit.NANOSECONDS));
+            } catch (Exception e) {
+                healthy = false;
+            }
+            if (!healthy) {
+                try {
+                    replace(i, connection);
+                } catch (UncheckedIOException e) {
+                    //서버가 아직 응답하지 않으면 다음 헬스 체크나 다음 호출에서 다시 시도한다
+                }
+            }
+        }
+    }
+
+    /**
+     * 락 밖에서 새 연결을 맺고, 그 자리가 그대로일 때만 바꿔 끼운다
+     * - 그 사이 다른 스레드가 먼저 다시 맺었으면 새 연결은 닫고 그 연결을 돌려준다
+     */
+    private Connection replace(int index, Connection stale) {
+        if (stale != null) {
+            stale.close();
+        }
+        Connection replacement = connect();
+        Connection current;
+        synchronized (connections) {
+            current = connections[index];
+            if (current == stale) {
+                connections[index] = replacement;
+                return replacement;
+            }
+        }
+        replacement.close();
+        return current;
+    }
+
+    private Connection[] snapshot() {
+        synchronized (connections) {
+            return Arrays.stream(connections)
+                    .filter(Objects::nonNull)
+                    .toArray(Connection[]::new);
+        }
+    }
+
+    //테스트에서 연결 실패를 흉내 내도록 package-private
+    Connection connect() {
+        try {
+            return new Connection(host, port, (int) requestTimeout.toMillis(), nextId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("connect failed: " + host + ":" + port, e);
+        }
+    }
+
+}
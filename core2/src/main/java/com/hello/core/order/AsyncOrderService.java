@@ -0,0 +1,115 @@
+package com.hello.core.order;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class AsyncOrderService {
+
+    /**
+     * OrderService 의 비동기 버전
+     * - 주문 생성을 executor 에 맡기고 바로 CompletableFuture 를 돌려주므로 여러 주문을 동시에 요청할 수 있다
+     * - executor 는 크기가 정해진 스레드 풀이나, Java 21 이상이라면 가상 스레드 executor 를 넘기면 된다
+     * - 동시에 처리 중인 주문이 maxConcurrency 를 넘으면 바로 거절한다(admission control)
+     * - timeout 이 지나면 TimeoutException 으로 실패하고, 처리 중인 스레드를 인터럽트한다
+     * - 호출한 쪽에서 future 를 cancel 해도 처리 중인 스레드를 인터럽트한다
+     * - 허용 수(permit)는 future 가 끝날 때가 아니라 실제 작업이 끝날 때 반납하므로 동시 실행 수가 정확히 제한된다
+     */
+
+    private final OrderService orderService;
+    private final Executor executor;
+    private final Semaphore permits;
+    private final Duration timeout;
+
+    public AsyncOrderService(OrderService orderService, Executor executor, int maxConcurrency, Duration timeout) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.orderService = orderService;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency);
+        this.timeout = timeout;
+    }
+
+    public CompletableFuture<Order> createOrderAsync(Long memberId, String itemName, int itemPrice) {
+
+        CompletableFuture<Order> result = new CompletableFuture<>();
+
+        if (!permits.tryAcquire()) {
+            result.completeExceptionally(new RejectedExecutionException("too many concurrent orders"));
+            return result;
+        }
+
+        Worker worker = new Worker();
+        Runnable task = () -> {
+            //먼저 작업 스레드를 알린 뒤 완료 여부를 본다, 그 사이에 취소되거나 타임아웃이 지나도 인터럽트를 놓치지 않는다
+            worker.start();
+            try {
+                if (result.isDone()) {
+                    return; //시작 전에 취소되었거나 타임아웃이 지난 주문
+                }
+                result.complete(orderService.createOrder(memberId, itemName, itemPrice));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                worker.finish();
+                permits.release();
+            }
+        };
+
+        result.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((order, failure) -> {
+                    if (failure instanceof CancellationException || failure instanceof TimeoutException) {
+                        worker.interrupt();
+                    }
+                });
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    //주문 하나를 처리하는 스레드, 취소나 타임아웃 시 인터럽트할 대상
+    private static final class Worker {
+
+        private Thread thread;
+        private boolean interruptSent;
+
+        synchronized void start() {
+            thread = Thread.currentThread();
+        }
+
+        synchronized void interrupt() {
+            if (thread != null) {
+                thread.interrupt();
+                interruptSent = true;
+            }
+        }
+
+        /**
+         * 이 클래스가 건 인터럽트만 풀 스레드에 남기지 않는다 (풀 종료 등 다른 곳에서 건 인터럽트는 그대로 둔다)
+         */
+        synchronized void finish() {
+            thread = null;
+            if (interruptSent) {
+                Thread.interrupted();
+            }
+        }
+
+    }
+
+}
@@ -1,14 +1,22 @@
 package com.hello.core.order;
 
 import com.hello.core.annotation.MainDiscountPolicy;
+import com.hello.core.common.CoreMetrics;
 import com.hello.core.discount.DiscountPolicy;
+import com.hello.core.jfr.OrderCreatedEvent;
 import com.hello.core.member.Member;
 import com.hello.core.member.MemberRepository;
+import com.hello.core.trace.Span;
+import com.hello.core.trace.Tracer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 @Component
 /**
  * @RequiredArgsConstructor
@@ -38,6 +46,10 @@ public class OrderServiceImpl implements OrderService {
     //private final DiscountPolicy discountPolicy = new FixDiscountPolicy();
     //private  final DiscountPolicy discountPolicy = new RateDiscountPolicy();
 
+    private static final Timer CREATE_ORDER_TIMER = CoreMetrics.methodTimer("order.service", "createOrder");
+    private static final Counter DISCOUNTED_ORDERS = CoreMetrics.counter("order.created", "discounted", "true");
+    private static final Counter FULL_PRICE_ORDERS = CoreMetrics.counter("order.created", "discounted", "false");
+
     private final MemberRepository memberRepository;
     private final DiscountPolicy discountPolicy;
 
@@ -119,10 +131,27 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public Order createOrder(Long memberId, String itemName, int itemPrice) {
 
-        Member member = memberRepository.findById(memberId);
-        int discountPrice = discountPolicy.discount(member, itemPrice);
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Span span = Tracer.global().startSpan("OrderService.createOrder");
+        try {
+            Member member = memberRepository.findById(memberId);
+            int discountPrice = discountPolicy.discount(member, itemPrice);
 
-        return new Order(memberId, itemName, itemPrice, discountPrice);
+            (discountPrice > 0 ? DISCOUNTED_ORDERS : FULL_PRICE_ORDERS).increment();
+            if (event.shouldCommit()) {
+                event.memberId = memberId;
+                event.itemName = itemName;
+                event.itemPrice = itemPrice;
+                event.discountPrice = discountPrice;
+                event.commit();
+            }
+            return new Order(memberId, itemName, itemPrice, discountPrice);
+        } finally {
+            span.close();
+            CREATE_ORDER_TIMER.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     //테스트 용도
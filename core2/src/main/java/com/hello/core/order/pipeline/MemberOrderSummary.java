@@ -0,0 +1,18 @@
+package com.hello.core.order.pipeline;
+
+/**
+ * 회원별 주문 집계
+ * - 파티션 스레드에서만 갱신되고, 조회 시에는 이 불변 스냅샷을 넘겨준다
+ */
+public record MemberOrderSummary(Long memberId, long orderCount, long totalItemPrice, long totalDiscountPrice) {
+
+    static MemberOrderSummary empty(Long memberId) {
+        return new MemberOrderSummary(memberId, 0, 0, 0);
+    }
+
+    MemberOrderSummary add(int itemPrice, int discountPrice) {
+        return new MemberOrderSummary(memberId, orderCount + 1,
+                totalItemPrice + itemPrice, totalDiscountPrice + discountPrice);
+    }
+
+}
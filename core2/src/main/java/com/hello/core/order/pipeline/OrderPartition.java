@@ -0,0 +1,175 @@
+package com.hello.core.order.pipeline;
+
+import com.hello.core.order.Order;
+import com.hello.core.order.OrderService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class OrderPartition implements Runnable {
+
+    /**
+     * 단일 작성자(single-writer) 파티션
+     * - 여러 스레드가 큐에 넣고(MPSC), 파티션 전용 스레드 하나만 큐에서 꺼내 처리한다
+     * - 집계 맵은 전용 스레드에서만 읽고 쓰기 때문에 락이 필요 없다
+     * - 큐에 쌓인 작업은 batchSize 만큼 한 번에 꺼내 처리한다
+     * - 큐가 가득 차면 offerTimeout 동안 기다리고, 그래도 자리가 없으면 거절한다(backpressure)
+     */
+
+    private final int partitionId;
+    private final OrderService orderService;
+    private final BlockingQueue<Task> queue;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final Map<Long, MemberOrderSummary> summaries = new HashMap<>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    OrderPartition(int partitionId, OrderService orderService, int queueCapacity, int batchSize, long offerTimeoutNanos) {
+        this.partitionId = partitionId;
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutNanos = offerTimeoutNanos;
+        this.thread = new Thread(this, "order-partition-" + partitionId);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    CompletableFuture<Order> createOrder(Long memberId, String itemName, int itemPrice) {
+        CompletableFuture<Order> future = new CompletableFuture<>();
+        enqueue(new CreateOrder(memberId, itemName, itemPrice, future), future);
+        return future;
+    }
+
+    CompletableFuture<MemberOrderSummary> summaryOf(Long memberId) {
+        CompletableFuture<MemberOrderSummary> future = new CompletableFuture<>();
+        enqueue(new FindSummary(memberId, future), future);
+        return future;
+    }
+
+    int queueSize() {
+        return queue.size();
+    }
+
+    private void enqueue(Task task, CompletableFuture<?> future) {
+
+        if (closed) {
+            future.completeExceptionally(new RejectedExecutionException("order pipeline is closed"));
+            return;
+        }
+
+        try {
+            if (!queue.offer(task, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                future.completeExceptionally(
+                        new RejectedExecutionException("order partition " + partitionId + " queue is full"));
+                return;
+            }
+            //넣는 사이에 종료됐으면 전용 스레드가 이미 마지막으로 큐를 비웠을 수 있다
+            //큐에서 다시 꺼내지면 아무도 처리하지 않을 작업이므로 거절하고, 못 꺼내면 전용 스레드가 처리하거나 거절한다
+            if (closed && queue.remove(task)) {
+                task.reject();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void run() {
+
+        List<Task> batch = new ArrayList<>(batchSize);
+
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Task first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                for (Task task : batch) {
+                    task.execute(this);
+                }
+            } catch (InterruptedException e) {
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+
+        //종료 시점에 남은 작업은 거절한다
+        Task remaining;
+        while ((remaining = queue.poll()) != null) {
+            remaining.reject();
+        }
+    }
+
+    void shutdown() {
+        closed = true;
+    }
+
+    void awaitTermination(long timeoutMillis) throws InterruptedException {
+        thread.join(timeoutMillis);
+        if (thread.isAlive()) {
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    private interface Task {
+
+        void execute(OrderPartition partition);
+
+        void reject();
+
+    }
+
+    private record CreateOrder(Long memberId, String itemName, int itemPrice,
+                               CompletableFuture<Order> future) implements Task {
+
+        @Override
+        public void execute(OrderPartition partition) {
+            try {
+                Order order = partition.orderService.createOrder(memberId, itemName, itemPrice);
+                MemberOrderSummary summary = partition.summaries.getOrDefault(memberId, MemberOrderSummary.empty(memberId));
+                partition.summaries.put(memberId, summary.add(order.getItemPrice(), order.getDiscountPrice()));
+                future.complete(order);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void reject() {
+            future.completeExceptionally(new RejectedExecutionException("order pipeline is closed"));
+        }
+
+    }
+
+    private record FindSummary(Long memberId, CompletableFuture<MemberOrderSummary> future) implements Task {
+
+        @Override
+        public void execute(OrderPartition partition) {
+            future.complete(partition.summaries.getOrDefault(memberId, MemberOrderSummary.empty(memberId)));
+        }
+
+        @Override
+        public void reject() {
+            future.completeExceptionally(new RejectedExecutionException("order pipeline is closed"));
+        }
+
+    }
+
+}
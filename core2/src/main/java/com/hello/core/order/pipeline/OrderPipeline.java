@@ -0,0 +1,76 @@
+package com.hello.core.order.pipeline;
+
+import com.hello.core.order.Order;
+import com.hello.core.order.OrderService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class OrderPipeline implements AutoCloseable {
+
+    /**
+     * 파티션 단위 단일 작성자 주문 처리 파이프라인
+     * - 주문은 memberId 로 파티션이 정해지고, 같은 회원의 주문은 항상 같은 파티션에서 순서대로 처리된다
+     * - 회원 정보 조회와 주문 집계가 파티션 스레드 하나에서만 일어나므로 락 경합이 없다
+     * - 호출한 스레드는 기다리지 않고 CompletableFuture 로 결과를 받는다
+     * - 큐가 가득 차면 RejectedExecutionException 으로 실패한 future 를 돌려준다
+     */
+
+    private final List<OrderPartition> partitions;
+
+    public OrderPipeline(OrderService orderService, int partitionCount, int queueCapacity, int batchSize,
+                         Duration offerTimeout) {
+
+        if (partitionCount <= 0 || queueCapacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("partitionCount, queueCapacity and batchSize must be positive");
+        }
+
+        this.partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new OrderPartition(i, orderService, queueCapacity, batchSize, offerTimeout.toNanos()));
+        }
+        partitions.forEach(OrderPartition::start);
+    }
+
+    public CompletableFuture<Order> createOrder(Long memberId, String itemName, int itemPrice) {
+        return partitionFor(memberId).createOrder(memberId, itemName, itemPrice);
+    }
+
+    public CompletableFuture<MemberOrderSummary> summaryOf(Long memberId) {
+        return partitionFor(memberId).summaryOf(memberId);
+    }
+
+    public int partitionOf(Long memberId) {
+        return Math.floorMod(Long.hashCode(memberId), partitions.size());
+    }
+
+    public int queueSize() {
+        int size = 0;
+        for (OrderPartition partition : partitions) {
+            size += partition.queueSize();
+        }
+        return size;
+    }
+
+    /**
+     * 새 주문을 더 받지 않고, 큐에 쌓인 주문을 모두 처리한 뒤 종료한다
+     */
+    @Override
+    public void close() {
+        partitions.forEach(OrderPartition::shutdown);
+        try {
+            for (OrderPartition partition : partitions) {
+                partition.awaitTermination(5000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private OrderPartition partitionFor(Long memberId) {
+        return partitions.get(partitionOf(memberId));
+    }
+
+}
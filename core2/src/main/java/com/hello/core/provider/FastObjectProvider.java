@@ -0,0 +1,244 @@
+package com.hello.core.provider;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.DependencyDescriptor;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.AbstractBeanFactory;
+import org.springframework.core.MethodParameter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+public class FastObjectProvider<T> implements ObjectProvider<T> {
+
+    /**
+     * 프로토타입 빈 전용 ObjectProvider
+     * - ObjectProvider.getObject() 는 호출할 때 마다 빈 이름 조회, 빈 정의 병합, 생성자 선택, 의존관계 해석을 다시 한다
+     * - 이 provider 는 생성 시점에 빈 정의와 생성자를 한 번만 해석하고, 생성자를 MethodHandle 로 묶어 둔다
+     * - 싱글톤인 생성자 인자는 미리 조회해 두고, 프로토타입인 인자만 매번 컨테이너에서 조회한다
+     * - 생성 후에는 컨테이너와 같이 InstantiationAwareBeanPostProcessor 로 필드, 메소드 주입(@Autowired, @Value, @Inject, @Resource)을 하고
+     *   initializeBean 으로 Aware, @PostConstruct, BeanPostProcessor 를 그대로 적용한다
+     *
+     * 풀링
+     * - poolSize 를 지정하고 빈이 Resettable 을 구현하면 release 로 반납된 객체를 reset 후 재사용한다
+     * - 풀이 가득 차면 반납된 객체는 버린다
+     *
+     * 제약
+     * - 빈 정의의 프로퍼티 값(XML <property>), 초기화 메소드(init-method, @Bean(initMethod))를 쓰는 빈은 지원하지 않는다
+     *   (빈 정의 없이 initializeBean 을 호출하므로 초기화 메소드가 호출되지 않는다)
+     * - getObject(args) 처럼 생성자 인자를 직접 넘기는 경우는 컨테이너에 그대로 위임한다
+     */
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final String beanName;
+    private final MethodHandle constructor;
+    private final Supplier<?>[] arguments;
+    private final List<InstantiationAwareBeanPostProcessor> injectionProcessors;
+    private final BlockingQueue<T> pool;
+
+    private FastObjectProvider(ConfigurableListableBeanFactory beanFactory, String beanName, MethodHandle constructor,
+                               Supplier<?>[] arguments, int poolSize) {
+        this.beanFactory = beanFactory;
+        this.beanName = beanName;
+        this.constructor = constructor;
+        this.arguments = arguments;
+        this.injectionProcessors = injectionProcessors(beanFactory);
+        this.pool = poolSize > 0 ? new ArrayBlockingQueue<>(poolSize) : null;
+    }
+
+    public static <T> FastObjectProvider<T> of(ConfigurableListableBeanFactory beanFactory, Class<T> type) {
+        return of(beanFactory, type, 0);
+    }
+
+    public static <T> FastObjectProvider<T> of(ConfigurableListableBeanFactory beanFactory, Class<T> type, int poolSize) {
+
+        String[] beanNames = beanFactory.getBeanNamesForType(type, true, false);
+        if (beanNames.length != 1) {
+            throw new BeanDefinitionStoreException("expected single bean of type " + type.getName()
+                    + " but found " + beanNames.length);
+        }
+        String beanName = beanNames[0];
+
+        BeanDefinition definition = beanFactory.getMergedBeanDefinition(beanName);
+        if (!definition.isPrototype() || definition.getFactoryMethodName() != null || definition.hasPropertyValues()
+                || definition.getInitMethodName() != null) {
+            throw new BeanDefinitionStoreException(beanName,
+                    "FastObjectProvider supports only constructor based prototype beans without property values or init method");
+        }
+
+        Class<?> beanClass = beanFactory.getType(beanName);
+        Constructor<?> constructor = selectConstructor(beanClass);
+        Supplier<?>[] arguments = resolveArguments(beanFactory, beanName, constructor);
+
+        try {
+            constructor.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return new FastObjectProvider<>(beanFactory, beanName, handle, arguments, poolSize);
+        } catch (IllegalAccessException e) {
+            throw new BeanCreationException(beanName, "cannot access constructor " + constructor, e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getObject() throws BeansException {
+
+        if (pool != null) {
+            T pooled = pool.poll();
+            if (pooled != null) {
+                return pooled;
+            }
+        }
+
+        Object[] args = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            args[i] = arguments[i].get();
+        }
+
+        Object instance;
+        try {
+            instance = constructor.invokeExact(args);
+        } catch (Throwable e) {
+            throw new BeanCreationException(beanName, "instantiation failed", e);
+        }
+
+        populate(instance);
+        return (T) beanFactory.initializeBean(instance, beanName);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getObject(Object... args) throws BeansException {
+        return (T) beanFactory.getBean(beanName, args);
+    }
+
+    @Override
+    public T getIfAvailable() throws BeansException {
+        return getObject();
+    }
+
+    @Override
+    public T getIfUnique() throws BeansException {
+        return getObject();
+    }
+
+    /**
+     * 다 사용한 객체를 풀에 반납한다
+     * - 풀링을 사용하지 않거나 Resettable 이 아니면 아무 일도 하지 않는다
+     */
+    public void release(T instance) {
+        if (pool != null && instance instanceof Resettable resettable) {
+            resettable.reset();
+            pool.offer(instance);
+        }
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public int pooledCount() {
+        return pool == null ? 0 : pool.size();
+    }
+
+    private static Constructor<?> selectConstructor(Class<?> beanClass) {
+
+        Constructor<?>[] constructors = beanClass.getDeclaredConstructors();
+        if (constructors.length == 1) {
+            return constructors[0];
+        }
+
+        for (Constructor<?> candidate : constructors) {
+            if (candidate.isAnnotationPresent(Autowired.class)) {
+                return candidate;
+            }
+        }
+        for (Constructor<?> candidate : constructors) {
+            if (candidate.getParameterCount() == 0) {
+                return candidate;
+            }
+        }
+        throw new BeanDefinitionStoreException("cannot choose constructor of " + beanClass.getName());
+    }
+
+    private static Supplier<?>[] resolveArguments(ConfigurableListableBeanFactory beanFactory, String beanName,
+                                                  Constructor<?> constructor) {
+
+        Supplier<?>[] arguments = new Supplier<?>[constructor.getParameterCount()];
+        for (int i = 0; i < arguments.length; i++) {
+
+            DependencyDescriptor descriptor = new DependencyDescriptor(new MethodParameter(constructor, i), true);
+            Set<String> autowiredBeanNames = new LinkedHashSet<>();
+            Object resolved = beanFactory.resolveDependency(descriptor, beanName, autowiredBeanNames, null);
+
+            boolean singleton = !autowiredBeanNames.isEmpty()
+                    && autowiredBeanNames.stream().allMatch(beanFactory::isSingleton);
+            if (singleton) {
+                arguments[i] = () -> resolved;
+            } else {
+                arguments[i] = () -> beanFactory.resolveDependency(descriptor, beanName);
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * 컨테이너의 populateBean 과 같은 순서로 필드, 메소드 주입을 한다
+     * - 주입 메타데이터는 후처리기가 빈 이름으로 캐시하므로 주입할 곳이 없는 빈은 거의 비용이 없다
+     */
+    private void populate(Object instance) {
+
+        if (injectionProcessors == null) {
+            beanFactory.autowireBean(instance);
+            return;
+        }
+
+        for (InstantiationAwareBeanPostProcessor processor : injectionProcessors) {
+            if (!processor.postProcessAfterInstantiation(instance, beanName)) {
+                return;
+            }
+        }
+        PropertyValues propertyValues = new MutablePropertyValues();
+        for (InstantiationAwareBeanPostProcessor processor : injectionProcessors) {
+            propertyValues = processor.postProcessProperties(propertyValues, instance, beanName);
+            if (propertyValues == null) {
+                return;
+            }
+        }
+    }
+
+    //후처리기 목록을 꺼낼 수 없는 빈 팩토리면 null, 매번 autowireBean 으로 주입한다
+    private static List<InstantiationAwareBeanPostProcessor> injectionProcessors(ConfigurableListableBeanFactory beanFactory) {
+        if (!(beanFactory instanceof AbstractBeanFactory abstractBeanFactory)) {
+            return null;
+        }
+        List<InstantiationAwareBeanPostProcessor> processors = new ArrayList<>();
+        for (BeanPostProcessor processor : abstractBeanFactory.getBeanPostProcessors()) {
+            if (processor instanceof InstantiationAwareBeanPostProcessor instantiationAware) {
+                processors.add(instantiationAware);
+            }
+        }
+        return List.copyOf(processors);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.hello.core.provider;
+
+/**
+ * 풀에 반납되기 전에 상태를 초기화할 수 있는 프로토타입 빈
+ * - reset 이후에는 새로 생성한 객체와 구분할 수 없는 상태여야 한다
+ */
+public interface Resettable {
+
+    void reset();
+
+}
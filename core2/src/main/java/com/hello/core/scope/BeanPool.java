@@ -0,0 +1,213 @@
+package com.hello.core.scope;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectFactory;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+class BeanPool {
+
+    /**
+     * 빈 이름 하나에 대한 객체 풀
+     * - 유휴 객체는 락이 없는 ConcurrentLinkedDeque 에 보관하고, 최근에 반납된 객체부터 꺼낸다(LIFO)
+     * - 전체 객체 수(total)는 CAS 로만 증가시켜서 maxTotal 을 넘지 않게 한다
+     * - 대여 중인 객체는 소멸 콜백과 함께 active 에 보관하고, 반납 시 유휴 목록으로 옮긴다
+     * - 유휴, 대여 중인 객체 수는 scope.pool.idle / scope.pool.active 게이지로 노출하고, close 에서 레지스트리에서 제거한다
+     * - close 후에 반납된 객체는 풀로 돌아가지 않고 바로 소멸시킨다 (사용 중인 객체에는 소멸 콜백을 호출하지 않는다)
+     */
+
+    private final String beanName;
+    private final int maxTotal;
+    private final long maxWaitNanos;
+    private final Predicate<Object> validator;
+    private final MeterRegistry meterRegistry;
+    private final List<Meter> meters;
+
+    private final ConcurrentLinkedDeque<PooledObject> idle = new ConcurrentLinkedDeque<>();
+    private final Map<IdentityKey, PooledObject> active = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private volatile boolean closed;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder borrowed = new LongAdder();
+    private final LongAdder returned = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    BeanPool(String beanName, int maxTotal, Duration maxWait, Predicate<Object> validator, MeterRegistry meterRegistry) {
+        this.beanName = beanName;
+        this.maxTotal = maxTotal;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+        this.meters = List.of(
+                Gauge.builder("scope.pool.idle", idle, ConcurrentLinkedDeque::size)
+                        .tag("bean", beanName)
+                        .register(meterRegistry),
+                Gauge.builder("scope.pool.active", active, Map::size)
+                        .tag("bean", beanName)
+                        .register(meterRegistry));
+    }
+
+    Object borrow(ObjectFactory<?> objectFactory, PooledScope scope) {
+
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (true) {
+
+            PooledObject pooled = idle.pollFirst();
+            if (pooled != null) {
+                if (validator.test(pooled.bean)) {
+                    return activate(pooled);
+                }
+                evicted.increment();
+                destroy(pooled);
+                continue;
+            }
+
+            int current = total.get();
+            if (current < maxTotal) {
+                if (total.compareAndSet(current, current + 1)) {
+                    try {
+                        PooledObject createdObject = scope.create(beanName, objectFactory);
+                        created.increment();
+                        return activate(createdObject);
+                    } catch (RuntimeException e) {
+                        total.decrementAndGet();
+                        throw e;
+                    }
+                }
+                continue;
+            }
+
+            if (System.nanoTime() - deadline > 0) {
+                throw new NoSuchElementException("pool '" + beanName + "' exhausted: maxTotal=" + maxTotal);
+            }
+            LockSupport.parkNanos(50_000);
+        }
+    }
+
+    boolean release(Object bean) {
+
+        PooledObject pooled = active.remove(new IdentityKey(bean));
+        if (pooled == null) {
+            return false;
+        }
+
+        returned.increment();
+        if (closed) {
+            destroy(pooled);
+            return true;
+        }
+        pooled.lastReturnedNanos = System.nanoTime();
+        idle.offerFirst(pooled);
+        if (closed) {
+            destroyIdle(); //유휴 목록에 넣는 사이 close 가 유휴 객체를 이미 정리한 경우
+        }
+        return true;
+    }
+
+    boolean isBorrowed(Object bean) {
+        return active.containsKey(new IdentityKey(bean));
+    }
+
+    boolean hasBorrowed() {
+        return !active.isEmpty();
+    }
+
+    /**
+     * 유휴 시간이 지난 객체를 소멸시킨다
+     * - 가장 오래 쉬고 있던 객체는 덱의 뒤쪽에 있다
+     */
+    int evictIdle(Duration idleTimeout) {
+
+        long now = System.nanoTime();
+        int count = 0;
+        Iterator<PooledObject> iterator = idle.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledObject pooled = iterator.next();
+            if (now - pooled.lastReturnedNanos >= idleTimeout.toNanos() && idle.removeFirstOccurrence(pooled)) {
+                evicted.increment();
+                destroy(pooled);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    void destroyIdle() {
+        PooledObject pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    /**
+     * 유휴 객체를 모두 소멸시키고 게이지를 제거한다
+     * - 게이지가 남아 있으면 레지스트리가 풀을 계속 참조해서 풀이 수거되지 않는다
+     * - 대여 중인 객체는 반납될 때 소멸시킨다
+     */
+    void close() {
+        closed = true;
+        destroyIdle();
+        meters.forEach(meterRegistry::remove);
+    }
+
+    PoolStats stats() {
+        return new PoolStats(created.sum(), destroyed.sum(), borrowed.sum(), returned.sum(), evicted.sum(),
+                idle.size(), active.size());
+    }
+
+    private Object activate(PooledObject pooled) {
+        borrowed.increment();
+        active.put(new IdentityKey(pooled.bean), pooled);
+        return pooled.bean;
+    }
+
+    private void destroy(PooledObject pooled) {
+        total.decrementAndGet();
+        destroyed.increment();
+        if (pooled.destructionCallback != null) {
+            pooled.destructionCallback.run();
+        }
+    }
+
+    static final class PooledObject {
+
+        final Object bean;
+        final Runnable destructionCallback;
+        volatile long lastReturnedNanos;
+
+        PooledObject(Object bean, Runnable destructionCallback) {
+            this.bean = bean;
+            this.destructionCallback = destructionCallback;
+        }
+
+    }
+
+    private record IdentityKey(Object bean) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey other && other.bean == bean;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(bean);
+        }
+
+    }
+
+}
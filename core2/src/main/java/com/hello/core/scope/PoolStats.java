@@ -0,0 +1,17 @@
+package com.hello.core.scope;
+
+/**
+ * 빈 풀 통계 스냅샷
+ * - created / destroyed : 생성, 소멸된 객체 수
+ * - borrowed / returned : 대여, 반납 횟수
+ * - evicted : 유휴 시간 초과 또는 검증 실패로 제거된 객체 수
+ * - idle / active : 풀에서 대기 중인 객체 수, 대여 중인 객체 수
+ */
+public record PoolStats(long createdCount,
+                        long destroyedCount,
+                        long borrowedCount,
+                        long returnedCount,
+                        long evictedCount,
+                        int idleCount,
+                        int activeCount) {
+}
@@ -0,0 +1,184 @@
+package com.hello.core.scope;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.Scope;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+public class PooledScope implements Scope {
+
+    /**
+     * pooled 스코프
+     * - 생성 비용이 큰 빈(예: 초기화 시 연결을 맺는 NetworkClient)을 요청마다 만들고 버리지 않고 재사용한다
+     * - 빈을 조회하면 풀에서 대여(borrow)하고, 다 쓰면 release 로 반납한다
+     * - 풀이 비어 있으면 maxTotal 까지 새로 만들고, 그 이상이면 maxWait 동안 반납을 기다린 뒤 NoSuchElementException 이 발생한다
+     * - 대여할 때 validator 로 검증하고, 실패한 객체는 소멸시키고 다른 객체를 꺼낸다
+     * - idleTimeout 동안 쓰이지 않은 객체는 주기적으로 소멸시킨다(@PreDestroy 호출)
+     * - remove, destroy 때 대여 중인 객체는 반납할 때 소멸시킨다 (닫힌 풀은 대여 중인 객체가 모두 반납될 때까지 기억해 둔다)
+     * - 풀 게이지는 생성자로 받은 MeterRegistry 에 등록하고, remove, destroy 에서 제거한다
+     *   MeterRegistry 를 받지 않는 생성자는 이 스코프 전용 SimpleMeterRegistry 에 등록한다(외부로 노출되지 않는다)
+     *
+     * 주의
+     * - 프로토타입처럼 조회할 때 마다 객체를 받으므로 싱글톤에 주입하지 말고 ObjectProvider 로 조회하자
+     * - 반납하지 않은 객체는 풀로 돌아오지 않는다. try-finally 로 꼭 반납하자
+     */
+
+    public static final String SCOPE_NAME = "pooled";
+
+    private final int maxTotal;
+    private final Duration maxWait;
+    private final Duration idleTimeout;
+    private final Predicate<Object> validator;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, BeanPool> pools = new ConcurrentHashMap<>();
+    private final Set<BeanPool> closedPools = ConcurrentHashMap.newKeySet(); //대여 중인 객체가 남은 닫힌 풀
+    private final ThreadLocal<Map<String, Runnable>> creatingCallbacks = ThreadLocal.withInitial(HashMap::new);
+    private final ScheduledExecutorService evictor;
+
+    public PooledScope(int maxTotal, Duration maxWait, Duration idleTimeout, Predicate<Object> validator,
+                       MeterRegistry meterRegistry) {
+        if (maxTotal <= 0) {
+            throw new IllegalArgumentException("maxTotal must be positive: " + maxTotal);
+        }
+        this.maxTotal = maxTotal;
+        this.maxWait = maxWait;
+        this.idleTimeout = idleTimeout;
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pooled-scope-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodNanos = Math.max(idleTimeout.toNanos() / 2, TimeUnit.MILLISECONDS.toNanos(10));
+        evictor.scheduleWithFixedDelay(this::evictIdle, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public PooledScope(int maxTotal, Duration maxWait, Duration idleTimeout, Predicate<Object> validator) {
+        this(maxTotal, maxWait, idleTimeout, validator, new SimpleMeterRegistry());
+    }
+
+    public PooledScope(int maxTotal, Duration maxWait, Duration idleTimeout) {
+        this(maxTotal, maxWait, idleTimeout, bean -> true);
+    }
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        return pools.computeIfAbsent(name, key -> new BeanPool(key, maxTotal, maxWait, validator, meterRegistry))
+                .borrow(objectFactory, this);
+    }
+
+    /**
+     * 대여한 빈을 풀에 반납한다
+     */
+    public void release(String name, Object bean) {
+        BeanPool pool = pools.get(name);
+        if ((pool == null || !pool.release(bean)) && !releaseToClosedPool(bean)) {
+            throw new IllegalArgumentException("bean was not borrowed from pool '" + name + "': " + bean);
+        }
+    }
+
+    public void release(Object bean) {
+        for (BeanPool pool : pools.values()) {
+            if (pool.release(bean)) {
+                return;
+            }
+        }
+        if (!releaseToClosedPool(bean)) {
+            throw new IllegalArgumentException("bean was not borrowed from any pool: " + bean);
+        }
+    }
+
+    @Override
+    public Object remove(String name) {
+        BeanPool pool = pools.remove(name);
+        if (pool != null) {
+            close(pool);
+        }
+        return null;
+    }
+
+    /**
+     * 빈 생성 중에 컨테이너가 호출한다. 생성 중인 객체의 소멸 콜백을 잠시 보관했다가 풀 객체에 연결한다
+     */
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+        creatingCallbacks.get().put(name, callback);
+    }
+
+    @Override
+    public Object resolveContextualObject(String key) {
+        return null;
+    }
+
+    @Override
+    public String getConversationId() {
+        return null;
+    }
+
+    public PoolStats stats(String name) {
+        BeanPool pool = pools.get(name);
+        return pool == null ? new PoolStats(0, 0, 0, 0, 0, 0, 0) : pool.stats();
+    }
+
+    public int evictIdle() {
+        int count = 0;
+        for (BeanPool pool : pools.values()) {
+            count += pool.evictIdle(idleTimeout);
+        }
+        return count;
+    }
+
+    /**
+     * 유휴 객체 제거 스레드를 멈추고 유휴 객체를 모두 소멸시킨 뒤 풀 게이지를 제거한다
+     * - 대여 중인 객체는 release 로 반납할 때 소멸 콜백이 호출된다
+     */
+    public void destroy() {
+        evictor.shutdownNow();
+        pools.values().forEach(this::close);
+        pools.clear();
+    }
+
+    private void close(BeanPool pool) {
+        pool.close();
+        if (pool.hasBorrowed()) {
+            closedPools.add(pool);
+        }
+    }
+
+    //닫힌 풀에서 대여한 객체면 소멸시킨다
+    private boolean releaseToClosedPool(Object bean) {
+        for (BeanPool pool : closedPools) {
+            if (pool.release(bean)) {
+                if (!pool.hasBorrowed()) {
+                    closedPools.remove(pool);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    BeanPool.PooledObject create(String name, ObjectFactory<?> objectFactory) {
+        Map<String, Runnable> callbacks = creatingCallbacks.get();
+        try {
+            Object bean = objectFactory.getObject();
+            return new BeanPool.PooledObject(bean, callbacks.remove(name));
+        } finally {
+            if (callbacks.isEmpty()) {
+                creatingCallbacks.remove();
+            }
+        }
+    }
+
+}
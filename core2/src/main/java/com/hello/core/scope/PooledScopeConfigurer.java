@@ -0,0 +1,35 @@
+package com.hello.core.scope;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+public class PooledScopeConfigurer implements BeanFactoryPostProcessor, DisposableBean {
+
+    /**
+     * pooled 스코프를 컨테이너에 등록하고, 컨테이너 종료 시 풀에 남은 객체를 소멸시킨다
+     * - BeanFactoryPostProcessor 이므로 @Bean 메소드는 static 으로 선언하자
+     */
+
+    private final PooledScope scope;
+
+    public PooledScopeConfigurer(PooledScope scope) {
+        this.scope = scope;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        beanFactory.registerScope(PooledScope.SCOPE_NAME, scope);
+    }
+
+    public PooledScope getScope() {
+        return scope;
+    }
+
+    @Override
+    public void destroy() {
+        scope.destroy();
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.hello.core.state;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+final class InjectionRules {
+
+    /**
+     * SingletonStateChecker(실행 시점), SingletonSafetyAnalyzer(빌드 시점)가 함께 쓰는 검사 제외 규칙
+     * - 주입 어노테이션 : 필드에 붙으면 컨테이너가 시작 시 한 번 주입하고, 메소드에 붙으면 수정자 주입이다
+     * - 컨테이너 타입 : BeanFactory, Environment 처럼 시작 시 한 번 받는 컨테이너 객체, 하위 타입(ApplicationContext 등)도 포함한다
+     * - 초기화 메소드 : 주입 메소드, @PostConstruct, @PreDestroy 메소드, afterPropertiesSet, afterSingletonsInstantiated,
+     *   Aware 콜백(setBeanFactory, setApplicationContext 등), 컨테이너가 시작이나 종료 때 한 번 호출하므로 생성자처럼 본다
+     *   (콜백은 메소드 이름과 파라미터 타입으로 판단한다)
+     */
+
+    private static final Set<String> INJECTION_ANNOTATIONS = Set.of(
+            "org.springframework.beans.factory.annotation.Autowired",
+            "org.springframework.beans.factory.annotation.Value",
+            "jakarta.inject.Inject",
+            "javax.inject.Inject",
+            "jakarta.annotation.Resource");
+
+    private static final Set<String> INJECTION_DESCRIPTORS = INJECTION_ANNOTATIONS.stream()
+            .map(name -> "L" + name.replace('.', '/') + ";")
+            .collect(Collectors.toUnmodifiableSet());
+
+    private static final Set<String> LIFECYCLE_DESCRIPTORS = Set.of(
+            "Ljakarta/annotation/PostConstruct;",
+            "Ljavax/annotation/PostConstruct;",
+            "Ljakarta/annotation/PreDestroy;",
+            "Ljavax/annotation/PreDestroy;");
+
+    //InitializingBean, SmartInitializingSingleton, *Aware 콜백 (이름 + 디스크립터)
+    private static final Set<String> CALLBACK_METHODS = Set.of(
+            "afterPropertiesSet()V",
+            "afterSingletonsInstantiated()V",
+            "setBeanName(Ljava/lang/String;)V",
+            "setBeanClassLoader(Ljava/lang/ClassLoader;)V",
+            "setBeanFactory(Lorg/springframework/beans/factory/BeanFactory;)V",
+            "setApplicationContext(Lorg/springframework/context/ApplicationContext;)V",
+            "setApplicationEventPublisher(Lorg/springframework/context/ApplicationEventPublisher;)V",
+            "setEnvironment(Lorg/springframework/core/env/Environment;)V",
+            "setResourceLoader(Lorg/springframework/core/io/ResourceLoader;)V",
+            "setEmbeddedValueResolver(Lorg/springframework/util/StringValueResolver;)V",
+            "setMessageSource(Lorg/springframework/context/MessageSource;)V");
+
+    private static final List<Class<?>> CONTAINER_TYPES = List.of(
+            BeanFactory.class, Environment.class, ResourceLoader.class, ApplicationEventPublisher.class, ClassLoader.class);
+
+    private InjectionRules() {
+    }
+
+    static boolean isInjectionAnnotation(Annotation annotation) {
+        return INJECTION_ANNOTATIONS.contains(annotation.annotationType().getName());
+    }
+
+    /**
+     * @param annotationDescriptor 클래스 파일의 어노테이션 타입 (Lorg/springframework/.../Autowired;)
+     */
+    static boolean isInjectionAnnotation(String annotationDescriptor) {
+        return INJECTION_DESCRIPTORS.contains(annotationDescriptor);
+    }
+
+    /**
+     * @param annotationDescriptor 메소드에 붙은 어노테이션 타입, 주입 어노테이션이나 @PostConstruct, @PreDestroy 면 초기화 메소드
+     */
+    static boolean isInitializationAnnotation(String annotationDescriptor) {
+        return isInjectionAnnotation(annotationDescriptor) || LIFECYCLE_DESCRIPTORS.contains(annotationDescriptor);
+    }
+
+    static boolean isInitializationCallback(String methodName, String methodDescriptor) {
+        return CALLBACK_METHODS.contains(methodName + methodDescriptor);
+    }
+
+    static boolean isContainerType(Class<?> type) {
+        return CONTAINER_TYPES.stream().anyMatch(containerType -> containerType.isAssignableFrom(type));
+    }
+
+    /**
+     * 클래스 파일만 읽는 쪽에서 사용한다, 필드 타입을 초기화하지 않고 로딩해서 하위 타입인지 판단한다
+     * - 로딩할 수 없는 타입은 컨테이너 타입이 아닌 것으로 본다
+     */
+    static boolean isContainerType(String className, ClassLoader classLoader) {
+        try {
+            return isContainerType(ClassUtils.forName(className, classLoader));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.hello.core.state;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+public final class ScopedState<T> {
+
+    /**
+     * 싱글톤 빈에서 호출 단위 상태를 안전하게 들고 다니는 저장소
+     * - 싱글톤 필드에 요청 상태를 두면 여러 스레드가 값을 덮어쓴다(StatefulServiceTest)
+     * - 상태를 필드 대신 ScopedState 에 두고, run/call 로 묶은 호출 안에서만 값이 보이게 한다
+     * - 호출이 끝나면(예외 포함) 이전 값으로 되돌리고, 바깥 호출이 없으면 스레드 로컬을 지운다
+     *   스레드 풀 스레드에 이전 요청의 값이 남지 않는다
+     * - 호출 안에서 다시 run/call 을 하면 안쪽 호출 동안만 새 값이 보이고, 끝나면 바깥 값이 다시 보인다
+     * - JDK 의 ScopedValue(Java 21 이상 미리보기)와 같은 사용법을 Java 17 의 ThreadLocal 로 구현했다
+     *   ScopedValue 와 달리 묶인 호출 안에서는 set 으로 값을 바꿀 수 있다
+     * - 다른 스레드로 넘기는 작업은 wrap 으로 감싸면 현재 값을 그 스레드에서도 볼 수 있다
+     *
+     * 사용법
+     * - static final ScopedState<Integer> PRICE = ScopedState.newInstance("price");
+     * - PRICE.run(0, () -> { service.order("userA", 10000); service.getPrice(); });
+     */
+
+    private final String name;
+    private final ThreadLocal<Binding<T>> current = new ThreadLocal<>();
+
+    private ScopedState(String name) {
+        this.name = name;
+    }
+
+    public static <T> ScopedState<T> newInstance(String name) {
+        return new ScopedState<>(name);
+    }
+
+    public void run(T value, Runnable operation) {
+        Binding<T> previous = bind(value);
+        try {
+            operation.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public <R> R call(T value, Supplier<R> operation) {
+        Binding<T> previous = bind(value);
+        try {
+            return operation.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public boolean isBound() {
+        return current.get() != null;
+    }
+
+    /**
+     * @throws NoSuchElementException run/call 로 묶인 호출 밖에서 조회한 경우
+     */
+    public T get() {
+        return binding().value;
+    }
+
+    public T orElse(T other) {
+        Binding<T> binding = current.get();
+        return binding != null ? binding.value : other;
+    }
+
+    /**
+     * 현재 호출에 묶인 값을 바꾼다, 호출이 끝나면 바깥 값으로 되돌아간다
+     * @throws NoSuchElementException run/call 로 묶인 호출 밖에서 바꾸려는 경우
+     */
+    public void set(T value) {
+        binding().value = value;
+    }
+
+    /**
+     * 현재 값을 다른 스레드에서 실행할 작업에 넘긴다
+     */
+    public Runnable wrap(Runnable task) {
+        if (!isBound()) {
+            return task;
+        }
+        T value = get();
+        return () -> run(value, task);
+    }
+
+    public <R> Callable<R> wrap(Callable<R> task) {
+        if (!isBound()) {
+            return task;
+        }
+        T value = get();
+        return () -> {
+            Binding<T> previous = bind(value);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "ScopedState[" + name + "]";
+    }
+
+    private Binding<T> binding() {
+        Binding<T> binding = current.get();
+        if (binding == null) {
+            throw new NoSuchElementException(name + " is not bound to the current call");
+        }
+        return binding;
+    }
+
+    private Binding<T> bind(T value) {
+        Binding<T> previous = current.get();
+        current.set(new Binding<>(value));
+        return previous;
+    }
+
+    private void restore(Binding<T> previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    private static final class Binding<T> {
+
+        private T value;
+
+        private Binding(T value) {
+            this.value = value;
+        }
+
+    }
+
+}
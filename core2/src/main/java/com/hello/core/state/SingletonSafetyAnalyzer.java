@@ -0,0 +1,404 @@
+package com.hello.core.state;
+
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.FieldVisitor;
+import org.springframework.asm.Handle;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.asm.Type;
+import org.springframework.context.annotation.Scope;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class SingletonSafetyAnalyzer {
+
+    /**
+     * 빌드 시점에 컴포넌트 스캔 대상 싱글톤 클래스의 공유 가변 상태를 찾는다 (gradle singletonSafetyCheck)
+     * - @Component(@Service, @Repository, @Controller, @Configuration 포함)가 붙고 싱글톤 스코프인 클래스만 검사한다
+     * - 클래스를 로딩하지 않고 클래스 파일(스프링 내장 ASM)만 읽는다 (컨테이너 타입 판단에 필드 타입만 초기화 없이 로딩한다)
+     * - 실행 시점 검사는 SingletonStateChecker 를 사용한다
+     *
+     * 심각도
+     * - HIGH : static 가변 필드, static 비 스레드 안전 컬렉션(HashMap 등), 생성자 밖에서 값을 바꾸는 인스턴스 필드
+     * - MEDIUM : final 이지만 비 스레드 안전 컬렉션을 담은 인스턴스 필드 (요청 중에 수정하면 경쟁이 생긴다)
+     * - LOW : 생성자에서만 값을 정하는 final 이 아닌 필드, volatile 필드(복합 연산 경쟁 주의),
+     *         생성자 밖의 모든 접근이 synchronized 메소드나 synchronized 블록 안에 있는 인스턴스 필드
+     *         (static 필드는 인스턴스마다 다른 락으로 지킬 수 없으므로 낮추지 않는다)
+     *
+     * 검사하지 않는 필드
+     * - @Autowired, @Value, @Inject, @Resource 필드, BeanFactory, Environment 처럼 컨테이너가 한 번 넘겨주는 필드(하위 타입 포함)
+     *   규칙은 SingletonStateChecker 와 같다 (InjectionRules)
+     * - 생성자 밖에서는 위 어노테이션이 붙은 메소드(수정자 주입)나 @PostConstruct, afterPropertiesSet, Aware 콜백에서만 값을 바꾸는 필드
+     * - 컬렉션 구현 타입은 선언 타입이나, 생성자(static 필드는 static 초기화 블록)에서 new 로 만들어 바로 대입한 타입으로 판단한다
+     */
+
+    public enum Severity {
+        HIGH, MEDIUM, LOW
+    }
+
+    public record Finding(Severity severity, String className, String fieldName, String fieldType, String reason) {
+
+        @Override
+        public String toString() {
+            return severity + " " + className + "." + fieldName + " : " + fieldType + " - " + reason;
+        }
+
+    }
+
+    private static final Set<String> NON_THREAD_SAFE_COLLECTIONS = Set.of(
+            "java/util/HashMap", "java/util/LinkedHashMap", "java/util/TreeMap", "java/util/WeakHashMap",
+            "java/util/IdentityHashMap", "java/util/EnumMap", "java/util/ArrayList", "java/util/LinkedList",
+            "java/util/HashSet", "java/util/LinkedHashSet", "java/util/TreeSet", "java/util/ArrayDeque",
+            "java/util/PriorityQueue");
+
+    private final ClassLoader classLoader;
+    private final MetadataReaderFactory metadataReaderFactory;
+
+    public SingletonSafetyAnalyzer(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+        this.metadataReaderFactory = new SimpleMetadataReaderFactory(new DefaultResourceLoader(classLoader));
+    }
+
+    /**
+     * args[0] : 컴파일된 클래스 디렉토리, --fail-on=HIGH|MEDIUM|LOW : 이 심각도 이상이 있으면 실패
+     */
+    public static void main(String[] args) throws IOException {
+
+        if (args.length == 0) {
+            throw new IllegalArgumentException("usage: SingletonSafetyAnalyzer <classesDir> [--fail-on=HIGH|MEDIUM|LOW]");
+        }
+
+        Severity failOn = null;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--fail-on=")) {
+                failOn = Severity.valueOf(args[i].substring("--fail-on=".length()));
+            }
+        }
+
+        List<Finding> findings = new SingletonSafetyAnalyzer(ClassUtils.getDefaultClassLoader()).analyzeDirectory(Path.of(args[0]));
+        findings.forEach(System.out::println);
+        System.out.println(findings.size() + " singleton safety findings");
+
+        if (failOn != null) {
+            Severity threshold = failOn;
+            long failures = findings.stream().filter(finding -> finding.severity().compareTo(threshold) <= 0).count();
+            if (failures > 0) {
+                throw new IllegalStateException(failures + " singleton safety findings at " + threshold + " or above");
+            }
+        }
+    }
+
+    public List<Finding> analyzeDirectory(Path classesDirectory) throws IOException {
+
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(classesDirectory)) {
+            classFiles = paths.filter(path -> path.toString().endsWith(".class")).sorted().toList();
+        }
+
+        List<Finding> findings = new ArrayList<>();
+        for (Path classFile : classFiles) {
+            findings.addAll(analyze(new FileSystemResource(classFile)));
+        }
+        findings.sort(Comparator.comparing(Finding::severity));
+        return findings;
+    }
+
+    /**
+     * @return 싱글톤 컴포넌트가 아니면 빈 목록
+     */
+    public List<Finding> analyze(Resource classFile) throws IOException {
+
+        AnnotationMetadata metadata = metadataReaderFactory.getMetadataReader(classFile).getAnnotationMetadata();
+        if (!isSingletonComponent(metadata)) {
+            return List.of();
+        }
+
+        FieldScanner scanner = new FieldScanner();
+        try (InputStream in = classFile.getInputStream()) {
+            new ClassReader(in).accept(scanner, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        }
+
+        List<Finding> findings = new ArrayList<>();
+        for (FieldInfo field : scanner.fields.values()) {
+            Finding finding = classify(metadata.getClassName(), field);
+            if (finding != null) {
+                findings.add(finding);
+            }
+        }
+        return findings;
+    }
+
+    private static boolean isSingletonComponent(AnnotationMetadata metadata) {
+        boolean component = metadata.hasAnnotation(Component.class.getName())
+                || metadata.hasMetaAnnotation(Component.class.getName());
+        if (!component || !metadata.isConcrete() || !metadata.isIndependent()) {
+            return false;
+        }
+        MergedAnnotation<Scope> scope = metadata.getAnnotations().get(Scope.class);
+        if (!scope.isPresent()) {
+            return true;
+        }
+        String scopeName = scope.getString("scopeName");
+        return scopeName.isEmpty() || "singleton".equals(scopeName);
+    }
+
+    private Finding classify(String className, FieldInfo field) {
+
+        boolean isStatic = (field.access & Opcodes.ACC_STATIC) != 0;
+        boolean isFinal = (field.access & Opcodes.ACC_FINAL) != 0;
+        boolean isVolatile = (field.access & Opcodes.ACC_VOLATILE) != 0;
+        Type declaredType = Type.getType(field.descriptor);
+
+        boolean setterInjected = field.writtenByInjection && !field.writtenOutsideInitializer;
+        if ((field.access & Opcodes.ACC_SYNTHETIC) != 0 || field.injected || setterInjected
+                || declaredType.getSort() == Type.OBJECT && InjectionRules.isContainerType(declaredType.getClassName(), classLoader)) {
+            return null;
+        }
+
+        String implementation = field.assignedType != null ? field.assignedType
+                : declaredType.getSort() == Type.OBJECT ? declaredType.getInternalName() : null;
+        boolean nonThreadSafeCollection = implementation != null && NON_THREAD_SAFE_COLLECTIONS.contains(implementation);
+        String fieldType = nonThreadSafeCollection
+                ? Type.getObjectType(implementation).getClassName() : declaredType.getClassName();
+        boolean guarded = !field.accessors.isEmpty() && field.accessors.values().stream().allMatch(Boolean::booleanValue);
+
+        Severity severity;
+        String reason;
+        if (isStatic && nonThreadSafeCollection) {
+            severity = Severity.HIGH;
+            reason = "static non-thread-safe collection shared by every instance";
+        } else if (isStatic && !isFinal) {
+            severity = Severity.HIGH;
+            reason = "static mutable field";
+        } else if (isStatic) {
+            return null;
+        } else if (nonThreadSafeCollection) {
+            severity = Severity.MEDIUM;
+            reason = "non-thread-safe collection shared across requests";
+        } else if (isFinal) {
+            return null;
+        } else if (isVolatile) {
+            severity = Severity.LOW;
+            reason = "volatile field, check compound updates";
+        } else if (field.writtenOutsideInitializer) {
+            severity = Severity.HIGH;
+            reason = "mutable field written outside the constructor";
+        } else {
+            severity = Severity.LOW;
+            reason = "assigned only in the constructor, declare it final";
+        }
+
+        if (guarded && !isStatic && severity != Severity.LOW) {
+            severity = Severity.LOW;
+            reason += " (guarded by synchronized)";
+        }
+        return new Finding(severity, className, field.name, fieldType, reason);
+    }
+
+    private static final class FieldInfo {
+
+        private final String name;
+        private final String descriptor;
+        private final int access;
+        private boolean injected;
+        private String assignedType;
+        private boolean writtenOutsideInitializer;
+        private boolean writtenByInjection;
+        private final Map<String, Boolean> accessors = new LinkedHashMap<>(); //초기화 밖에서 접근한 메소드 -> 모든 접근이 락 안인지
+
+        private FieldInfo(String name, String descriptor, int access) {
+            this.name = name;
+            this.descriptor = descriptor;
+            this.access = access;
+        }
+
+    }
+
+    private static class FieldScanner extends ClassVisitor {
+
+        private String className;
+        private final Map<String, FieldInfo> fields = new LinkedHashMap<>();
+
+        FieldScanner() {
+            super(SpringAsmInfo.ASM_VERSION);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            this.className = name;
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            FieldInfo field = new FieldInfo(name, descriptor, access);
+            fields.put(name, field);
+            return new FieldVisitor(api) {
+                @Override
+                public AnnotationVisitor visitAnnotation(String annotationDescriptor, boolean visible) {
+                    if (InjectionRules.isInjectionAnnotation(annotationDescriptor)) {
+                        field.injected = true;
+                    }
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String methodName, String methodDescriptor, String signature, String[] exceptions) {
+
+            boolean initializer = "<init>".equals(methodName) || "<clinit>".equals(methodName);
+            String methodKey = methodName + methodDescriptor;
+
+            return new MethodVisitor(api) {
+
+                private final boolean synchronizedMethod = (access & Opcodes.ACC_SYNCHRONIZED) != 0;
+                private boolean initializationMethod = InjectionRules.isInitializationCallback(methodName, methodDescriptor);
+                private final Set<Label> anyHandlers = new HashSet<>(); //finally, synchronized 블록의 예외 처리 시작 위치
+                private int monitorDepth; //synchronized 블록 중첩 깊이 (명령 순서대로 센다)
+                private int handlerMonitorDepth = -1; //예외 처리 코드 안이면 그 시작 시점의 깊이
+                private final Deque<String> newTypes = new ArrayDeque<>(); //생성자 호출을 기다리는 NEW 타입
+                private String constructedType; //바로 앞 명령이 생성자 호출이면 그 타입
+                private final Map<FieldInfo, Boolean> accessed = new LinkedHashMap<>(); //필드 -> 모든 접근이 락 안인지
+
+                @Override
+                public AnnotationVisitor visitAnnotation(String annotationDescriptor, boolean visible) {
+                    if (InjectionRules.isInitializationAnnotation(annotationDescriptor)) {
+                        initializationMethod = true;
+                    }
+                    return null;
+                }
+
+                @Override
+                public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+                    if (type == null) {
+                        anyHandlers.add(handler);
+                    }
+                }
+
+                @Override
+                public void visitLabel(Label label) {
+                    if (anyHandlers.contains(label)) {
+                        handlerMonitorDepth = monitorDepth;
+                    }
+                }
+
+                @Override
+                public void visitTypeInsn(int opcode, String type) {
+                    constructedType = null;
+                    if (opcode == Opcodes.NEW) {
+                        newTypes.push(type);
+                    }
+                }
+
+                @Override
+                public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                    constructedType = null;
+                    if (opcode == Opcodes.INVOKESPECIAL && "<init>".equals(name) && owner.equals(newTypes.peek())) {
+                        constructedType = newTypes.pop();
+                    }
+                }
+
+                @Override
+                public void visitVarInsn(int opcode, int varIndex) {
+                    constructedType = null;
+                }
+
+                @Override
+                public void visitIntInsn(int opcode, int operand) {
+                    constructedType = null;
+                }
+
+                @Override
+                public void visitLdcInsn(Object value) {
+                    constructedType = null;
+                }
+
+                @Override
+                public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle, Object... bootstrapMethodArguments) {
+                    constructedType = null;
+                }
+
+                /**
+                 * 명령 순서대로 MONITORENTER, MONITOREXIT 를 세서 synchronized 블록 안의 접근만 락 안으로 본다
+                 * - javac 는 블록마다 정상 경로의 MONITOREXIT 뒤에 예외 처리 코드(MONITOREXIT, ATHROW)를 둔다
+                 *   예외 처리 코드의 MONITOREXIT 는 이미 센 블록을 다시 닫는 것이므로, 그 안에서 연 블록을 닫을 때만 센다
+                 */
+                @Override
+                public void visitInsn(int opcode) {
+                    constructedType = null;
+                    if (opcode == Opcodes.MONITORENTER) {
+                        monitorDepth++;
+                    } else if (opcode == Opcodes.MONITOREXIT) {
+                        if (monitorDepth > Math.max(handlerMonitorDepth, 0)) {
+                            monitorDepth--;
+                        }
+                    } else if (opcode == Opcodes.ATHROW) {
+                        handlerMonitorDepth = -1;
+                    }
+                }
+
+                @Override
+                public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+                    FieldInfo field = className.equals(owner) ? fields.get(name) : null;
+                    if (field == null) {
+                        constructedType = null;
+                        return;
+                    }
+                    boolean write = opcode == Opcodes.PUTFIELD || opcode == Opcodes.PUTSTATIC;
+                    String assigned = constructedType;
+                    constructedType = null;
+                    if (initializer) {
+                        if (write) {
+                            field.assignedType = assigned;
+                        }
+                        return;
+                    }
+                    if (initializationMethod) {
+                        if (write) {
+                            field.writtenByInjection = true; //수정자 주입, 초기화 콜백, 시작 시 컨테이너가 한 번 호출한다
+                        }
+                        return;
+                    }
+                    if (write) {
+                        field.writtenOutsideInitializer = true;
+                    }
+                    boolean guarded = synchronizedMethod || monitorDepth > 0;
+                    accessed.merge(field, guarded, Boolean::logicalAnd);
+                }
+
+                @Override
+                public void visitEnd() {
+                    accessed.forEach((field, guarded) -> field.accessors.put(methodKey, guarded));
+                }
+            };
+        }
+
+    }
+
+}
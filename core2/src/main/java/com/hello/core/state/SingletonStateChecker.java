@@ -0,0 +1,197 @@
+package com.hello.core.state;
+
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class SingletonStateChecker implements BeanFactoryAware, SmartInitializingSingleton {
+
+    /**
+     * 시작 시점에 싱글톤 빈의 변경 가능한 인스턴스 필드를 찾는다
+     * - 싱글톤 빈은 모든 요청이 공유하므로 final 이 아닌 필드는 요청 간에 값이 섞일 수 있다
+     * - 요청 상태는 필드 대신 파라미터, 지역변수나 ScopedState 에 둔다
+     * - 모든 싱글톤이 만들어진 뒤(afterSingletonsInstantiated) basePackages 에 속한 빈 클래스만 검사한다
+     * - failOnViolation 이면 IllegalStateException 으로 시작을 실패시키고, 아니면 경고만 출력한다
+     *
+     * 검사하지 않는 필드
+     * - static, final 필드
+     * - volatile 필드 : 여러 스레드에서 쓰는 것을 알고 의도적으로 공유하는 상태로 본다
+     * - @Autowired, @Value, @Inject, @Resource 필드 : 컨테이너가 시작 시 한 번 주입한다
+     * - 생성자 밖에서는 위 어노테이션이 붙은 메소드(수정자 주입)나 @PostConstruct, afterPropertiesSet, Aware 콜백에서만
+     *   값을 바꾸는 필드 : 클래스 파일을 읽어서 확인한다
+     * - BeanFactory, Environment 처럼 Aware 콜백으로 시작 시 한 번 받는 컨테이너 객체 필드
+     * - 주입 어노테이션, 컨테이너 타입 규칙은 SingletonSafetyAnalyzer 와 같다 (InjectionRules)
+     */
+
+    private final boolean failOnViolation;
+    private final List<String> basePackages;
+    private final List<Violation> violations = new ArrayList<>();
+    private ConfigurableListableBeanFactory beanFactory;
+
+    public SingletonStateChecker(boolean failOnViolation, String... basePackages) {
+        this.failOnViolation = failOnViolation;
+        this.basePackages = Arrays.asList(basePackages);
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        violations.clear(); //컨텍스트를 다시 refresh 하면 이전 결과를 버린다
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            if (!beanFactory.isSingleton(beanName)) {
+                continue;
+            }
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType != null) {
+                check(beanName, ClassUtils.getUserClass(beanType));
+            }
+        }
+
+        if (violations.isEmpty()) {
+            return;
+        }
+        if (failOnViolation) {
+            throw new IllegalStateException("mutable fields in singleton beans: " + violations);
+        }
+        for (Violation violation : violations) {
+            System.out.println("[singleton-state] " + violation);
+        }
+    }
+
+    public List<Violation> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+
+    private void check(String beanName, Class<?> beanClass) {
+        for (Class<?> type = beanClass; type != null && isChecked(type); type = type.getSuperclass()) {
+            Set<String> setterInjected = null;
+            for (Field field : type.getDeclaredFields()) {
+                if (!isMutableState(field)) {
+                    continue;
+                }
+                if (setterInjected == null) {
+                    setterInjected = setterInjectedFields(type);
+                }
+                if (!setterInjected.contains(field.getName())) {
+                    violations.add(new Violation(beanName, type.getName(), field.getName(), field.getType().getSimpleName()));
+                }
+            }
+        }
+    }
+
+    private boolean isChecked(Class<?> type) {
+        String packageName = type.getPackageName();
+        return basePackages.stream().anyMatch(base -> packageName.equals(base) || packageName.startsWith(base + "."));
+    }
+
+    private static boolean isMutableState(Field field) {
+        int modifiers = field.getModifiers();
+        if (field.isSynthetic() || Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isVolatile(modifiers)) {
+            return false;
+        }
+        if (InjectionRules.isContainerType(field.getType())) {
+            return false;
+        }
+        return Arrays.stream(field.getAnnotations()).noneMatch(InjectionRules::isInjectionAnnotation);
+    }
+
+    /**
+     * 생성자 밖에서는 주입 메소드, 초기화 콜백에서만 값을 바꾸는 필드 이름
+     * - 클래스 파일을 찾을 수 없으면(런타임에 만든 클래스 등) 빈 집합
+     */
+    private static Set<String> setterInjectedFields(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader() != null ? type.getClassLoader() : ClassLoader.getSystemClassLoader();
+        String internalName = ClassUtils.convertClassNameToResourcePath(type.getName());
+        try (InputStream in = classLoader.getResourceAsStream(internalName + ".class")) {
+            if (in == null) {
+                return Set.of();
+            }
+            FieldWriteScanner scanner = new FieldWriteScanner(internalName);
+            new ClassReader(in).accept(scanner, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            return scanner.setterInjectedFields();
+        } catch (IOException e) {
+            return Set.of();
+        }
+    }
+
+    //필드마다 주입 메소드, 초기화 콜백에서 값을 바꾸는지, 그 밖의 생성자가 아닌 곳에서 값을 바꾸는지 기록한다
+    private static class FieldWriteScanner extends ClassVisitor {
+
+        private final String className;
+        private final Set<String> writtenByInjection = new HashSet<>();
+        private final Set<String> writtenElsewhere = new HashSet<>();
+
+        FieldWriteScanner(String className) {
+            super(SpringAsmInfo.ASM_VERSION);
+            this.className = className;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+
+            boolean constructor = "<init>".equals(name);
+            return new MethodVisitor(api) {
+
+                private boolean injection = InjectionRules.isInitializationCallback(name, descriptor);
+
+                @Override
+                public AnnotationVisitor visitAnnotation(String annotationDescriptor, boolean visible) {
+                    if (InjectionRules.isInitializationAnnotation(annotationDescriptor)) {
+                        injection = true;
+                    }
+                    return null;
+                }
+
+                @Override
+                public void visitFieldInsn(int opcode, String owner, String fieldName, String fieldDescriptor) {
+                    if (opcode != Opcodes.PUTFIELD || !className.equals(owner) || constructor) {
+                        return;
+                    }
+                    (injection ? writtenByInjection : writtenElsewhere).add(fieldName);
+                }
+            };
+        }
+
+        Set<String> setterInjectedFields() {
+            Set<String> fields = new HashSet<>(writtenByInjection);
+            fields.removeAll(writtenElsewhere);
+            return fields;
+        }
+
+    }
+
+    public record Violation(String beanName, String className, String fieldName, String fieldType) {
+
+        @Override
+        public String toString() {
+            return beanName + " (" + className + "." + fieldName + " : " + fieldType + ")";
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.hello.core.trace;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class FileSpanExporter implements SpanExporter, Closeable {
+
+    /**
+     * span 을 파일에 한 줄씩 기록하는 exporter
+     * - 형식 : traceId spanId parentSpanId startEpochMicros durationNanos thread name
+     * - 샘플링된 요청만 기록되므로 매 span 마다 flush 한다
+     */
+
+    private final BufferedWriter writer;
+
+    public FileSpanExporter(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot open span file " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void export(SpanData span) {
+        try {
+            writer.write(span.traceIdHex() + " " + span.spanIdHex() + " "
+                    + (span.isRoot() ? "-" : span.parentSpanIdHex()) + " "
+                    + span.startEpochMicros() + " " + span.durationNanos() + " "
+                    + span.threadName() + " " + span.name());
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            //트레이싱 실패로 요청이 실패하면 안 된다
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+}
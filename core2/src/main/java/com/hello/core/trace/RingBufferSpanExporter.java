@@ -0,0 +1,52 @@
+package com.hello.core.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class RingBufferSpanExporter implements SpanExporter {
+
+    /**
+     * 최근 span 을 고정 크기 링 버퍼에 보관하는 exporter
+     * - 버퍼가 가득 차면 가장 오래된 span 을 덮어쓴다
+     * - 쓰기는 인덱스 증가(CAS 한 번)와 배열 저장뿐이라 락이 없다
+     */
+
+    private final AtomicReferenceArray<SpanData> buffer;
+    private final AtomicLong writeIndex = new AtomicLong();
+
+    public RingBufferSpanExporter(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.buffer = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public void export(SpanData span) {
+        long index = writeIndex.getAndIncrement();
+        buffer.set((int) (index % buffer.length()), span);
+    }
+
+    /**
+     * @return 오래된 순서로 정렬된 최근 span 목록
+     */
+    public List<SpanData> snapshot() {
+        long end = writeIndex.get();
+        long start = Math.max(0, end - buffer.length());
+        List<SpanData> spans = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            SpanData span = buffer.get((int) (i % buffer.length()));
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    public List<SpanData> findByTraceId(long traceId) {
+        return snapshot().stream().filter(span -> span.traceId() == traceId).toList();
+    }
+
+}
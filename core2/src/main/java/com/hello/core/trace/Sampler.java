@@ -0,0 +1,27 @@
+package com.hello.core.trace;
+
+/**
+ * 헤드 기반 샘플링
+ * - 루트 span 을 만들 때 한 번만 결정하고, 자식 span 은 루트의 결정을 따른다
+ * - traceId 로 결정하므로 같은 traceId 는 어느 노드에서나 같은 결과가 나온다
+ */
+@FunctionalInterface
+public interface Sampler {
+
+    boolean isSampled(long traceId);
+
+    static Sampler ratio(double ratio) {
+        if (ratio < 0.0 || ratio > 1.0) {
+            throw new IllegalArgumentException("ratio must be between 0 and 1: " + ratio);
+        }
+        if (ratio == 0.0) {
+            return traceId -> false;
+        }
+        if (ratio == 1.0) {
+            return traceId -> true;
+        }
+        long bound = (long) (ratio * Long.MAX_VALUE);
+        return traceId -> (traceId & Long.MAX_VALUE) < bound;
+    }
+
+}
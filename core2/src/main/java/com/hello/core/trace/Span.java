@@ -0,0 +1,64 @@
+package com.hello.core.trace;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+public class Span implements AutoCloseable {
+
+    /**
+     * 하나의 작업 구간
+     * - try-with-resources 나 try-finally 로 닫으며, 닫히는 시점에 현재 span 을 부모로 되돌리고 exporter 로 내보낸다
+     * - 샘플링 되지 않은 요청은 NOOP span 을 사용하므로 아무것도 기록하지 않는다
+     */
+
+    static final Span NOOP = new Span(null, 0, 0, 0, null, null);
+
+    private final Tracer tracer;
+    private final long traceId;
+    private final long spanId;
+    private final long parentSpanId;
+    private final String name;
+    private final Span parent;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private boolean ended;
+
+    Span(Tracer tracer, long traceId, long spanId, long parentSpanId, String name, Span parent) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.parent = parent;
+        this.startEpochMicros = tracer == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+        this.startNanos = tracer == null ? 0 : System.nanoTime();
+    }
+
+    public boolean isRecording() {
+        return this != NOOP;
+    }
+
+    public long getTraceId() {
+        return traceId;
+    }
+
+    public long getSpanId() {
+        return spanId;
+    }
+
+    Span getParent() {
+        return parent;
+    }
+
+    @Override
+    public void close() {
+        if (this == NOOP || ended) {
+            return;
+        }
+        ended = true;
+        long durationNanos = System.nanoTime() - startNanos;
+        tracer.end(this, new SpanData(traceId, spanId, parentSpanId, name, startEpochMicros, durationNanos,
+                Thread.currentThread().getName()));
+    }
+
+}
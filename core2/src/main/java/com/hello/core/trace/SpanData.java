@@ -0,0 +1,31 @@
+package com.hello.core.trace;
+
+/**
+ * 종료된 span 의 불변 스냅샷, exporter 로 전달된다
+ * - parentSpanId 가 0 이면 루트 span
+ */
+public record SpanData(long traceId,
+                       long spanId,
+                       long parentSpanId,
+                       String name,
+                       long startEpochMicros,
+                       long durationNanos,
+                       String threadName) {
+
+    public String traceIdHex() {
+        return String.format("%016x", traceId);
+    }
+
+    public String spanIdHex() {
+        return String.format("%016x", spanId);
+    }
+
+    public String parentSpanIdHex() {
+        return parentSpanId == 0 ? "" : String.format("%016x", parentSpanId);
+    }
+
+    public boolean isRoot() {
+        return parentSpanId == 0;
+    }
+
+}
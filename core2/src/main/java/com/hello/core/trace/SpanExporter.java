@@ -0,0 +1,11 @@
+package com.hello.core.trace;
+
+/**
+ * 종료된 span 을 내보내는 곳
+ * - 요청 스레드에서 바로 호출되므로 구현체는 빠르게 반환해야 한다
+ */
+public interface SpanExporter {
+
+    void export(SpanData span);
+
+}
@@ -0,0 +1,92 @@
+package com.hello.core.trace;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class Tracer {
+
+    /**
+     * 요청 단위 트레이서
+     * - 컨트롤러 진입 시 startRootSpan 으로 루트 span 을 만들고, 이때 샘플링 여부를 결정한다
+     * - 서비스, 리포지토리는 startSpan 으로 자식 span 을 만든다. 현재 span 이 없거나 샘플링 되지 않았으면 NOOP span 을 돌려준다
+     * - 현재 span 은 스레드 로컬에 보관하므로 같은 스레드 안의 호출만 부모 자식으로 이어진다
+     * - new 로 직접 생성한 서비스에서도 사용할 수 있도록 전역 인스턴스(global)를 제공한다
+     */
+
+    private static final Tracer GLOBAL = new Tracer(Sampler.ratio(0.1));
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final List<SpanExporter> exporters = new CopyOnWriteArrayList<>();
+    private volatile Sampler sampler;
+
+    public Tracer(Sampler sampler) {
+        this.sampler = sampler;
+    }
+
+    public static Tracer global() {
+        return GLOBAL;
+    }
+
+    public Span startRootSpan(String name) {
+        long traceId = nextId();
+        if (!sampler.isSampled(traceId) || exporters.isEmpty()) {
+            return Span.NOOP;
+        }
+        return start(traceId, 0, name, current.get());
+    }
+
+    public Span startSpan(String name) {
+        Span parent = current.get();
+        if (parent == null) {
+            return Span.NOOP;
+        }
+        return start(parent.getTraceId(), parent.getSpanId(), name, parent);
+    }
+
+    public Span currentSpan() {
+        Span span = current.get();
+        return span == null ? Span.NOOP : span;
+    }
+
+    public void setSampler(Sampler sampler) {
+        this.sampler = sampler;
+    }
+
+    public void addExporter(SpanExporter exporter) {
+        exporters.add(exporter);
+    }
+
+    public void removeExporter(SpanExporter exporter) {
+        exporters.remove(exporter);
+    }
+
+    void end(Span span, SpanData data) {
+        if (current.get() == span) {
+            Span parent = span.getParent();
+            if (parent == null) {
+                current.remove();
+            } else {
+                current.set(parent);
+            }
+        }
+        for (SpanExporter exporter : exporters) {
+            exporter.export(data);
+        }
+    }
+
+    private Span start(long traceId, long parentSpanId, String name, Span parent) {
+        Span span = new Span(this, traceId, nextId(), parentSpanId, name, parent);
+        current.set(span);
+        return span;
+    }
+
+    private static long nextId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+}
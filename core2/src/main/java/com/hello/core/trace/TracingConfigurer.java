@@ -0,0 +1,59 @@
+package com.hello.core.trace;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Component
+public class TracingConfigurer {
+
+    /**
+     * 전역 트레이서 설정
+     * - trace.sample-rate : 루트 span 샘플링 비율 (기본 0.1 = 요청 10개 중 1개)
+     * - trace.ring-buffer-size : 메모리에 보관할 최근 span 수, /traces 에서 조회한다
+     * - trace.file : 지정하면 span 을 파일에도 기록한다
+     */
+
+    private final double sampleRate;
+    private final RingBufferSpanExporter ringBuffer;
+    private final String file;
+    private FileSpanExporter fileExporter;
+
+    public TracingConfigurer(@Value("${trace.sample-rate:0.1}") double sampleRate,
+                             @Value("${trace.ring-buffer-size:1024}") int ringBufferSize,
+                             @Value("${trace.file:}") String file) {
+        this.sampleRate = sampleRate;
+        this.ringBuffer = new RingBufferSpanExporter(ringBufferSize);
+        this.file = file;
+    }
+
+    @PostConstruct
+    public void init(){
+        Tracer tracer = Tracer.global();
+        tracer.setSampler(Sampler.ratio(sampleRate));
+        tracer.addExporter(ringBuffer);
+        if (!file.isBlank()) {
+            fileExporter = new FileSpanExporter(Path.of(file));
+            tracer.addExporter(fileExporter);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        Tracer tracer = Tracer.global();
+        tracer.removeExporter(ringBuffer);
+        if (fileExporter != null) {
+            tracer.removeExporter(fileExporter);
+            fileExporter.close();
+        }
+    }
+
+    public RingBufferSpanExporter getRingBuffer() {
+        return ringBuffer;
+    }
+
+}
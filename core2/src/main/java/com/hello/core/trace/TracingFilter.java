@@ -0,0 +1,33 @@
+package com.hello.core.trace;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+public class TracingFilter extends OncePerRequestFilter {
+
+    /**
+     * 모든 HTTP 요청의 진입점에서 루트 span 을 만든다
+     * - 이 시점에 샘플링 여부가 결정되고, 컨트롤러 아래의 서비스, 리포지토리 span 은 이 결정을 따른다
+     * - 샘플링된 요청은 응답 헤더 X-Trace-Id 로 traceId 를 돌려준다
+     */
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        try (Span span = Tracer.global().startRootSpan(request.getMethod() + " " + request.getRequestURI())) {
+            if (span.isRecording()) {
+                response.setHeader("X-Trace-Id", String.format("%016x", span.getTraceId()));
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+
+}
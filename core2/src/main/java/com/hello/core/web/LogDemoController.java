@@ -1,6 +1,8 @@
 package com.hello.core.web;
 
 import com.hello.core.common.MyLogger;
+import com.hello.core.trace.Span;
+import com.hello.core.trace.Tracer;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.ObjectProvider;
@@ -20,15 +22,20 @@ public class LogDemoController {
     @ResponseBody
     public String logDemo(HttpServletRequest request){
 
-        //MyLogger myLogger = myLoggerProvider.getObject();
-        String requestURL = request.getRequestURL().toString();
-        System.out.println("myLogger = " + myLogger.getClass());
+        Span span = Tracer.global().startSpan("LogDemoController.logDemo");
+        try {
+            //MyLogger myLogger = myLoggerProvider.getObject();
+            String requestURL = request.getRequestURL().toString();
+            System.out.println("myLogger = " + myLogger.getClass());
 
-        myLogger.setRequestURL(requestURL);
-        myLogger.log("controller test");
-        logDemoService.logic("testId");
+            myLogger.setRequestURL(requestURL);
+            myLogger.log("controller test");
+            logDemoService.logic("testId");
 
-        return "OK";
+            return "OK";
+        } finally {
+            span.close();
+        }
     }
 
 }
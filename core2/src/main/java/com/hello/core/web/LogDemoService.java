@@ -1,6 +1,8 @@
 package com.hello.core.web;
 
 import com.hello.core.common.MyLogger;
+import com.hello.core.trace.Span;
+import com.hello.core.trace.Tracer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
@@ -14,7 +16,12 @@ public class LogDemoService {
 
     public void logic(String id){
         //MyLogger myLogger = myLoggerProvider.getObject();
-        myLogger.log("service id = " + id);
+        Span span = Tracer.global().startSpan("LogDemoService.logic");
+        try {
+            myLogger.log("service id = " + id);
+        } finally {
+            span.close();
+        }
     }
 
 }
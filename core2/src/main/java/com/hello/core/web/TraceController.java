@@ -0,0 +1,39 @@
+package com.hello.core.web;
+
+import com.hello.core.trace.SpanData;
+import com.hello.core.trace.TracingConfigurer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TraceController {
+
+    private final TracingConfigurer tracingConfigurer;
+
+    //최근 샘플링된 span 조회, traceId(16진수)를 주면 해당 요청의 span 만 조회
+    @GetMapping("traces")
+    public List<SpanData> traces(@RequestParam(required = false) String traceId){
+
+        if (traceId == null) {
+            return tracingConfigurer.getRingBuffer().snapshot();
+        }
+        return tracingConfigurer.getRingBuffer().findByTraceId(parseTraceId(traceId));
+    }
+
+    //잘못된 traceId 는 500 대신 400 으로 응답한다
+    private static long parseTraceId(String traceId) {
+        try {
+            return Long.parseUnsignedLong(traceId, 16);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "traceId must be a hexadecimal number: " + traceId, e);
+        }
+    }
+
+}
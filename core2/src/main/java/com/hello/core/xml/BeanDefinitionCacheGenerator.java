@@ -0,0 +1,60 @@
+package com.hello.core.xml;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BeanDefinitionCacheGenerator {
+
+    /**
+     * 빌드 시점에 XML 빈 정의 캐시를 생성한다 (gradle xmlBeanDefinitionCache 태스크)
+     * - args[0] : 출력 디렉토리, 이후 : XML 위치(classpath:app-config.xml 등)
+     * - [출력 디렉토리]/META-INF/bean-definitions/[XML 파일 이름].bdc 를 만든다
+     * - 캐시로 표현할 수 없는 XML 은 건너뛰고, 실행 시 XML 로 파싱된다
+     */
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < 2) {
+            throw new IllegalArgumentException("usage: BeanDefinitionCacheGenerator <outputDir> <xmlLocation>...");
+        }
+
+        Path outputDirectory = Path.of(args[0]).resolve(CachedXmlApplicationContext.CLASSPATH_CACHE_LOCATION);
+        Files.createDirectories(outputDirectory);
+
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        for (String location : Arrays.copyOfRange(args, 1, args.length)) {
+            Resource resource = resourceLoader.getResource(location);
+            Path cache = outputDirectory.resolve(resource.getFilename() + CachedXmlApplicationContext.CACHE_SUFFIX);
+            System.out.println(generate(resource, cache) ? "generated " + cache : "skipped " + location);
+        }
+    }
+
+    static boolean generate(Resource resource, Path cache) throws IOException {
+
+        List<String> imports = new ArrayList<>();
+        String checksum = CachedXmlApplicationContext.checksum(CachedXmlApplicationContext.readAllBytes(resource));
+        DefaultListableBeanFactory parsed = CachedXmlApplicationContext.parse(resource, imports);
+        if (!imports.isEmpty()) {
+            Files.deleteIfExists(cache);
+            return false;
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(cache)))) {
+            BeanDefinitionCodec.write(parsed, checksum, out);
+            return true;
+        } catch (BeanDefinitionCodec.UnsupportedDefinitionException e) {
+            Files.deleteIfExists(cache);
+            return false;
+        }
+    }
+
+}
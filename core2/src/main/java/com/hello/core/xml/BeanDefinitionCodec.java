@@ -0,0 +1,261 @@
+package com.hello.core.xml;
+
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+final class BeanDefinitionCodec {
+
+    /**
+     * XML 빈 정의를 바이너리로 저장하고 읽는다
+     * - 헤더 : 매직 넘버, 포맷 버전, 원본 XML 체크섬
+     * - 빈 마다 이름, 별칭, 클래스, 스코프, 생명주기 메소드, 생성자 인자, 프로퍼티 값을 순서대로 기록한다
+     * - 값은 빈 참조(ref)와 문자열 값(value)만 지원한다. 내부 빈, 컬렉션, lookup-method, qualifier, 커스텀 네임스페이스처럼
+     *   지원하지 않는 정의가 있으면 UnsupportedDefinitionException 이 발생하고, 호출한 쪽은 XML 파싱으로 처리한다
+     */
+
+    static final int MAGIC = 0x42444331; //"BDC1"
+    static final int VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte BEAN_REFERENCE = 1;
+    private static final byte TYPED_STRING = 2;
+
+    private BeanDefinitionCodec() {
+    }
+
+    static void write(BeanDefinitionRegistry registry, String checksum, DataOutputStream out) throws IOException {
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(checksum);
+
+        String[] beanNames = registry.getBeanDefinitionNames();
+        out.writeInt(beanNames.length);
+        for (String beanName : beanNames) {
+            out.writeUTF(beanName);
+            writeStrings(out, registry.getAliases(beanName));
+            writeDefinition(out, beanName, registry.getBeanDefinition(beanName));
+        }
+    }
+
+    /**
+     * 체크섬이 다르면(원본 XML 이 바뀌었으면) false 를 반환하고 아무것도 등록하지 않는다
+     */
+    static boolean read(DataInputStream in, String expectedChecksum, BeanDefinitionRegistry registry) throws IOException {
+
+        if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(expectedChecksum)) {
+            return false;
+        }
+
+        int count = in.readInt();
+        String[] beanNames = new String[count];
+        String[][] aliases = new String[count][];
+        AbstractBeanDefinition[] definitions = new AbstractBeanDefinition[count];
+        for (int i = 0; i < count; i++) {
+            beanNames[i] = in.readUTF();
+            aliases[i] = readStrings(in);
+            definitions[i] = readDefinition(in);
+        }
+
+        for (int i = 0; i < count; i++) {
+            registry.registerBeanDefinition(beanNames[i], definitions[i]);
+            for (String alias : aliases[i]) {
+                registry.registerAlias(beanNames[i], alias);
+            }
+        }
+        return true;
+    }
+
+    private static void writeDefinition(DataOutputStream out, String beanName, BeanDefinition definition) throws IOException {
+
+        if (definition.getClass() != GenericBeanDefinition.class) {
+            throw new UnsupportedDefinitionException(beanName, "definition type " + definition.getClass().getName());
+        }
+        GenericBeanDefinition bd = (GenericBeanDefinition) definition;
+        if (bd.hasMethodOverrides() || !bd.getQualifiers().isEmpty() || bd.getInstanceSupplier() != null) {
+            throw new UnsupportedDefinitionException(beanName, "method overrides, qualifiers or instance supplier");
+        }
+
+        writeNullable(out, bd.getBeanClassName());
+        writeNullable(out, bd.getParentName());
+        writeNullable(out, bd.getScope());
+        writeNullable(out, bd.getFactoryBeanName());
+        writeNullable(out, bd.getFactoryMethodName());
+        writeNullable(out, bd.getInitMethodName());
+        writeNullable(out, bd.getDestroyMethodName());
+        writeNullable(out, bd.getDescription());
+        out.writeBoolean(bd.isAbstract());
+        out.writeByte(bd.getLazyInit() == null ? -1 : bd.getLazyInit() ? 1 : 0);
+        out.writeBoolean(bd.isPrimary());
+        out.writeBoolean(bd.isAutowireCandidate());
+        out.writeBoolean(bd.isEnforceInitMethod());
+        out.writeBoolean(bd.isEnforceDestroyMethod());
+        out.writeInt(bd.getAutowireMode());
+        out.writeInt(bd.getDependencyCheck());
+        out.writeInt(bd.getRole());
+        writeStrings(out, bd.getDependsOn() == null ? new String[0] : bd.getDependsOn());
+
+        ConstructorArgumentValues arguments = bd.getConstructorArgumentValues();
+        Map<Integer, ValueHolder> indexed = arguments.getIndexedArgumentValues();
+        out.writeInt(indexed.size());
+        for (Map.Entry<Integer, ValueHolder> entry : indexed.entrySet()) {
+            out.writeInt(entry.getKey());
+            writeValueHolder(out, beanName, entry.getValue());
+        }
+        out.writeInt(arguments.getGenericArgumentValues().size());
+        for (ValueHolder holder : arguments.getGenericArgumentValues()) {
+            writeValueHolder(out, beanName, holder);
+        }
+
+        PropertyValue[] properties = bd.getPropertyValues().getPropertyValues();
+        out.writeInt(properties.length);
+        for (PropertyValue property : properties) {
+            out.writeUTF(property.getName());
+            writeValue(out, beanName, property.getValue());
+        }
+    }
+
+    private static AbstractBeanDefinition readDefinition(DataInputStream in) throws IOException {
+
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClassName(readNullable(in));
+        bd.setParentName(readNullable(in));
+        bd.setScope(readNullable(in));
+        bd.setFactoryBeanName(readNullable(in));
+        bd.setFactoryMethodName(readNullable(in));
+        bd.setInitMethodName(readNullable(in));
+        bd.setDestroyMethodName(readNullable(in));
+        bd.setDescription(readNullable(in));
+        bd.setAbstract(in.readBoolean());
+        byte lazyInit = in.readByte();
+        if (lazyInit >= 0) {
+            bd.setLazyInit(lazyInit == 1);
+        }
+        bd.setPrimary(in.readBoolean());
+        bd.setAutowireCandidate(in.readBoolean());
+        bd.setEnforceInitMethod(in.readBoolean());
+        bd.setEnforceDestroyMethod(in.readBoolean());
+        bd.setAutowireMode(in.readInt());
+        bd.setDependencyCheck(in.readInt());
+        bd.setRole(in.readInt());
+        String[] dependsOn = readStrings(in);
+        if (dependsOn.length > 0) {
+            bd.setDependsOn(dependsOn);
+        }
+
+        ConstructorArgumentValues arguments = new ConstructorArgumentValues();
+        int indexedCount = in.readInt();
+        for (int i = 0; i < indexedCount; i++) {
+            int index = in.readInt();
+            arguments.addIndexedArgumentValue(index, readValueHolder(in));
+        }
+        int genericCount = in.readInt();
+        for (int i = 0; i < genericCount; i++) {
+            arguments.addGenericArgumentValue(readValueHolder(in));
+        }
+        bd.setConstructorArgumentValues(arguments);
+
+        MutablePropertyValues properties = new MutablePropertyValues();
+        int propertyCount = in.readInt();
+        for (int i = 0; i < propertyCount; i++) {
+            String name = in.readUTF();
+            properties.add(name, readValue(in));
+        }
+        bd.setPropertyValues(properties);
+        return bd;
+    }
+
+    private static void writeValueHolder(DataOutputStream out, String beanName, ValueHolder holder) throws IOException {
+        writeNullable(out, holder.getType());
+        writeNullable(out, holder.getName());
+        writeValue(out, beanName, holder.getValue());
+    }
+
+    private static ValueHolder readValueHolder(DataInputStream in) throws IOException {
+        String type = readNullable(in);
+        String name = readNullable(in);
+        return new ValueHolder(readValue(in), type, name);
+    }
+
+    private static void writeValue(DataOutputStream out, String beanName, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value.getClass() == RuntimeBeanReference.class) {
+            RuntimeBeanReference reference = (RuntimeBeanReference) value;
+            out.writeByte(BEAN_REFERENCE);
+            out.writeUTF(reference.getBeanName());
+            out.writeBoolean(reference.isToParent());
+        } else if (value.getClass() == TypedStringValue.class) {
+            TypedStringValue typed = (TypedStringValue) value;
+            out.writeByte(TYPED_STRING);
+            writeNullable(out, typed.getValue());
+            writeNullable(out, typed.getTargetTypeName());
+        } else {
+            throw new UnsupportedDefinitionException(beanName, "value type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case BEAN_REFERENCE -> new RuntimeBeanReference(in.readUTF(), in.readBoolean());
+            case TYPED_STRING -> {
+                String value = readNullable(in);
+                String targetTypeName = readNullable(in);
+                yield targetTypeName == null ? new TypedStringValue(value) : new TypedStringValue(value, targetTypeName);
+            }
+            default -> throw new IOException("unknown value tag: " + tag);
+        };
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeStrings(DataOutputStream out, String[] values) throws IOException {
+        out.writeInt(values.length);
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String[] readStrings(DataInputStream in) throws IOException {
+        String[] values = new String[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readUTF();
+        }
+        return values;
+    }
+
+    static class UnsupportedDefinitionException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedDefinitionException(String beanName, String reason) {
+            super("bean '" + beanName + "' cannot be cached: " + reason);
+        }
+
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.hello.core.xml;
+
+import org.springframework.beans.factory.parsing.EmptyReaderEventListener;
+import org.springframework.beans.factory.parsing.ImportDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.DigestUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CachedXmlApplicationContext extends GenericApplicationContext {
+
+    /**
+     * XML 빈 정의 캐시를 사용하는 GenericXmlApplicationContext
+     * - GenericXmlApplicationContext 는 시작할 때 마다 XML 을 파싱하고 스키마로 검증한다
+     * - 이 컨텍스트는 XML 의 체크섬을 키로 미리 변환해 둔 바이너리 빈 정의 캐시를 읽어서 파싱, 검증을 건너뛴다
+     *
+     * 캐시 찾는 순서
+     * - 클래스패스 META-INF/bean-definitions/[XML 파일 이름].bdc : 빌드 시점에 BeanDefinitionCacheGenerator 가 생성
+     * - cacheDirectory/[XML 파일 이름].bdc : 첫 실행 시 XML 을 파싱하고 생성
+     *   cacheDirectory 를 지정하지 않으면 빌드 시점 캐시만 사용한다
+     *   (누구나 쓸 수 있는 임시 디렉토리 같은 곳에 두면 다른 사용자가 바꿔 둔 빈 정의를 읽게 되므로 애플리케이션 전용 디렉토리를 지정하자)
+     * - 체크섬이 다르면(XML 이 바뀌었으면) 캐시를 쓰지 않고 XML 을 다시 파싱해서 캐시를 새로 만든다
+     * - 캐시를 읽다가 실패하면(잘린 파일, 깨진 문자열 등) 캐시가 없는 것으로 보고 XML 을 다시 파싱해서 캐시를 새로 만든다
+     * - 캐시로 표현할 수 없는 정의(내부 빈, 컬렉션, 커스텀 네임스페이스 등)가 있거나 다른 XML 을 import 하는 XML 은 항상 XML 로 파싱한다
+     */
+
+    static final String CLASSPATH_CACHE_LOCATION = "META-INF/bean-definitions/";
+    static final String CACHE_SUFFIX = ".bdc";
+
+    private final Path cacheDirectory;
+    private int cacheHitCount;
+
+    /**
+     * 빌드 시점 캐시만 사용하고, 실행 시 캐시는 만들지 않는다
+     */
+    public CachedXmlApplicationContext(String... resourceLocations) {
+        this((Path) null, resourceLocations);
+    }
+
+    /**
+     * @param cacheDirectory 실행 시 캐시를 둘 디렉토리, null 이면 실행 시 캐시를 쓰지 않는다
+     */
+    public CachedXmlApplicationContext(Path cacheDirectory, String... resourceLocations) {
+        this.cacheDirectory = cacheDirectory;
+        for (String location : resourceLocations) {
+            load(getResource(location));
+        }
+        refresh();
+    }
+
+    public CachedXmlApplicationContext(Path cacheDirectory, Resource... resources) {
+        this.cacheDirectory = cacheDirectory;
+        for (Resource resource : resources) {
+            load(resource);
+        }
+        refresh();
+    }
+
+    /**
+     * 캐시에서 읽은 XML 수
+     */
+    public int getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    private void load(Resource resource) {
+        try {
+            byte[] xml = readAllBytes(resource);
+            String checksum = checksum(xml);
+            String cacheName = resource.getFilename() + CACHE_SUFFIX;
+
+            if (readCache(new ClassPathResource(CLASSPATH_CACHE_LOCATION + cacheName, getClassLoader()), checksum)
+                    || (cacheDirectory != null && readCache(cacheDirectory.resolve(cacheName), checksum))) {
+                cacheHitCount++;
+                return;
+            }
+
+            List<String> imports = new ArrayList<>();
+            DefaultListableBeanFactory parsed = parse(resource, imports);
+            copyDefinitions(parsed);
+            if (cacheDirectory != null && imports.isEmpty()) { //import 한 XML 은 체크섬에 포함되지 않으므로 캐시하지 않는다
+                writeCache(parsed, checksum, cacheDirectory.resolve(cacheName));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to load bean definitions from " + resource, e);
+        }
+    }
+
+    private boolean readCache(ClassPathResource cache, String checksum) {
+        if (!cache.exists()) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(cache.getInputStream()))) {
+            return BeanDefinitionCodec.read(in, checksum, this);
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 읽다가 실패하면 false, 빈 정의는 모두 읽은 뒤에 등록하므로 실패해도 일부만 등록되지 않는다
+     * - EOFException, UTFDataFormatException 같은 IOException 뿐 아니라 잘못 읽은 개수, 값으로 인한 RuntimeException 도 포함한다
+     */
+    private boolean readCache(Path cache, String checksum) {
+        if (!Files.isRegularFile(cache)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cache)))) {
+            return BeanDefinitionCodec.read(in, checksum, this);
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void copyDefinitions(DefaultListableBeanFactory parsed) {
+        for (String beanName : parsed.getBeanDefinitionNames()) {
+            registerBeanDefinition(beanName, parsed.getBeanDefinition(beanName));
+            for (String alias : parsed.getAliases(beanName)) {
+                registerAlias(beanName, alias);
+            }
+        }
+    }
+
+    /**
+     * 캐시 파일은 임시 파일에 쓴 뒤 옮기므로 동시에 시작한 다른 프로세스가 쓰다 만 파일을 읽지 않는다
+     */
+    private void writeCache(DefaultListableBeanFactory parsed, String checksum, Path cache) throws IOException {
+        Files.createDirectories(cache.getParent());
+        Path temp = Files.createTempFile(cache.getParent(), cache.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                BeanDefinitionCodec.write(parsed, checksum, out);
+            }
+            Files.move(temp, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (BeanDefinitionCodec.UnsupportedDefinitionException e) {
+            //캐시로 표현할 수 없는 XML 은 매번 파싱한다
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static DefaultListableBeanFactory parse(Resource resource, List<String> imports) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(beanFactory);
+        reader.setEventListener(new EmptyReaderEventListener() {
+            @Override
+            public void importProcessed(ImportDefinition importDefinition) {
+                imports.add(importDefinition.getImportedResource());
+            }
+        });
+        reader.loadBeanDefinitions(resource);
+        return beanFactory;
+    }
+
+    static String checksum(byte[] xml) {
+        return DigestUtils.md5DigestAsHex(xml);
+    }
+
+    static byte[] readAllBytes(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+}
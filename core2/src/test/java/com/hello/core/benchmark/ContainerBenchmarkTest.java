@@ -0,0 +1,157 @@
+package com.hello.core.benchmark;
+
+import com.hello.core.AppConfig;
+import com.hello.core.context.TypeIndexedApplicationContext;
+import com.hello.core.discount.DiscountPolicy;
+import com.hello.core.discount.FixDiscountPolicy;
+import com.hello.core.discount.RateDiscountPolicy;
+import com.hello.core.member.MemberService;
+import com.hello.core.provider.FastObjectProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.RequestScope;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.inject.Provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스프링 컨테이너 조회 비용 측정
+ * - 일반 테스트에서는 제외되고 ./gradlew benchmark 로 실행한다
+ * - 절대값 보다는 같은 환경에서 방식 간의 상대적인 차이를 보는 용도로 사용하자
+ */
+@Tag("benchmark")
+class ContainerBenchmarkTest {
+
+    MicroBenchmark benchmark = new MicroBenchmark(20_000, 100_000, 5);
+
+    @AfterEach
+    void afterEach(){
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getBean(){
+
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext(AppConfig.class);
+
+        benchmark.run("getBean(name)", () -> ac.getBean("memberService"));
+        benchmark.run("getBean(name, type)", () -> ac.getBean("memberService", MemberService.class));
+        benchmark.run("getBean(type)", () -> ac.getBean(MemberService.class));
+
+        ac.close();
+
+        TypeIndexedApplicationContext indexed = new TypeIndexedApplicationContext(AppConfig.class);
+        benchmark.run("getBean(type) type index", () -> indexed.getBean(MemberService.class));
+        indexed.close();
+
+    }
+
+    @Test
+    void getBeansOfType(){
+
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext(DiscountConfig.class);
+
+        MicroBenchmark.Result result = benchmark.run("getBeansOfType(DiscountPolicy)",
+                () -> ac.getBeansOfType(DiscountPolicy.class));
+        assertThat(result.nanosPerOp()).isPositive();
+
+        ac.close();
+
+        TypeIndexedApplicationContext indexed = new TypeIndexedApplicationContext(DiscountConfig.class);
+        benchmark.run("getBeansOfType(DiscountPolicy) type index", () -> indexed.getBeansOfType(DiscountPolicy.class));
+        indexed.close();
+
+    }
+
+    @Test
+    void prototype(){
+
+        AnnotationConfigApplicationContext ac =
+                new AnnotationConfigApplicationContext(PrototypeBean.class, ClientBean.class);
+        ClientBean clientBean = ac.getBean(ClientBean.class);
+
+        benchmark.run("new PrototypeBean() (baseline)", PrototypeBean::new);
+        benchmark.run("getBean(prototype type)", () -> ac.getBean(PrototypeBean.class));
+        benchmark.run("ObjectProvider.getObject()", () -> clientBean.objectProvider.getObject());
+        benchmark.run("JSR-330 Provider.get()", () -> clientBean.jsr330Provider.get());
+
+        FastObjectProvider<PrototypeBean> fastProvider = FastObjectProvider.of(ac.getBeanFactory(), PrototypeBean.class);
+        benchmark.run("FastObjectProvider.getObject()", fastProvider::getObject);
+
+        ac.close();
+
+    }
+
+    @Test
+    void scopedProxy(){
+
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext();
+        ac.getBeanFactory().registerScope("request", new RequestScope());
+        ac.register(RequestBean.class);
+        ac.refresh();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        RequestBean proxy = ac.getBean(RequestBean.class);
+        RequestBean target = new RequestBean();
+
+        benchmark.run("direct call (baseline)", target::value);
+        benchmark.run("request scoped proxy call", proxy::value);
+
+        ac.close();
+
+    }
+
+    @Configuration
+    static class DiscountConfig {
+
+        @Bean
+        public DiscountPolicy rateDiscountPolicy(){
+            return new RateDiscountPolicy();
+        }
+
+        @Bean
+        public DiscountPolicy fixDiscountPolicy(){
+            return new FixDiscountPolicy();
+        }
+
+    }
+
+    @Scope("prototype")
+    static class PrototypeBean {
+    }
+
+    static class ClientBean {
+
+        @Autowired
+        ObjectProvider<PrototypeBean> objectProvider;
+
+        //스프링 6 부터 JSR-330 Provider 는 javax.inject 가 아닌 jakarta.inject 만 지원한다
+        @Autowired
+        Provider<PrototypeBean> jsr330Provider;
+
+    }
+
+    @Scope(value = "request", proxyMode = ScopedProxyMode.TARGET_CLASS)
+    static class RequestBean {
+
+        private final Object value = new Object();
+
+        public Object value(){
+            return value;
+        }
+
+    }
+
+}
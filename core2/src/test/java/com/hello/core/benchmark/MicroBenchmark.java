@@ -0,0 +1,77 @@
+package com.hello.core.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+public class MicroBenchmark {
+
+    /**
+     * 간단한 마이크로 벤치마크 도구
+     * - 워밍업으로 JIT 컴파일을 유도한 뒤, 여러 라운드를 측정해서 가장 좋은 라운드의 결과를 사용한다
+     * - 작업 한 번당 시간(ns/op)과 할당량(bytes/op)을 측정한다
+     * - 할당량은 현재 스레드의 누적 할당 바이트(com.sun.management.ThreadMXBean)로 측정한다
+     * - 작업 결과는 sink 에 섞어서 JIT 가 작업을 통째로 제거하지 못하게 한다
+     */
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static volatile int sink;
+
+    private final int warmupIterations;
+    private final int measuredIterations;
+    private final int rounds;
+
+    public MicroBenchmark(int warmupIterations, int measuredIterations, int rounds) {
+        this.warmupIterations = warmupIterations;
+        this.measuredIterations = measuredIterations;
+        this.rounds = rounds;
+    }
+
+    public Result run(String name, Supplier<?> operation) {
+
+        for (int i = 0; i < warmupIterations; i++) {
+            consume(operation.get());
+        }
+
+        long threadId = Thread.currentThread().getId();
+        double bestNanosPerOp = Double.MAX_VALUE;
+        double bestBytesPerOp = Double.MAX_VALUE;
+
+        for (int round = 0; round < rounds; round++) {
+            long allocatedBefore = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int i = 0; i < measuredIterations; i++) {
+                consume(operation.get());
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocated = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            bestNanosPerOp = Math.min(bestNanosPerOp, (double) elapsed / measuredIterations);
+            bestBytesPerOp = Math.min(bestBytesPerOp, (double) allocated / measuredIterations);
+        }
+
+        Result result = new Result(name, bestNanosPerOp, bestBytesPerOp);
+        System.out.println(result);
+        return result;
+    }
+
+    private static void consume(Object value) {
+        sink ^= System.identityHashCode(value);
+    }
+
+    public record Result(String name, double nanosPerOp, double bytesPerOp) {
+
+        public double opsPerSecond() {
+            return 1_000_000_000.0 / nanosPerOp;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-45s %12.1f ns/op %14.0f ops/s %10.1f B/op",
+                    name, nanosPerOp, opsPerSecond(), bytesPerOp);
+        }
+
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.hello.core.common;
+
+import com.hello.core.discount.RateDiscountPolicy;
+import com.hello.core.member.Grade;
+import com.hello.core.member.Member;
+import com.hello.core.member.MemberService;
+import com.hello.core.member.MemberServiceImpl;
+import com.hello.core.member.MemoryMemberRepository;
+import com.hello.core.order.OrderService;
+import com.hello.core.order.OrderServiceImpl;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CoreMetricsTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void beforeEach(){
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void afterEach(){
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    @DisplayName("회원 가입, 조회, 주문, 할인 경로의 처리 시간과 횟수를 기록한다")
+    void recordHotPaths(){
+
+        MemoryMemberRepository memberRepository = new MemoryMemberRepository();
+        MemberService memberService = new MemberServiceImpl(memberRepository);
+        OrderService orderService = new OrderServiceImpl(memberRepository, new RateDiscountPolicy());
+
+        memberService.join(new Member(901L, "memberA", Grade.VIP));
+        memberService.join(new Member(902L, "memberB", Grade.BASIC));
+        memberService.findMember(901L);
+        orderService.createOrder(901L, "itemA", 10000);
+        orderService.createOrder(902L, "itemB", 20000);
+
+        assertThat(registry.get("member.service").tag("method", "join").timer().count()).isEqualTo(2);
+        assertThat(registry.get("member.service").tag("method", "findMember").timer().count()).isEqualTo(1);
+        assertThat(registry.get("order.service").tag("method", "createOrder").timer().count()).isEqualTo(2);
+        assertThat(registry.get("order.created").tag("discounted", "true").counter().count()).isEqualTo(1);
+        assertThat(registry.get("order.created").tag("discounted", "false").counter().count()).isEqualTo(1);
+
+        assertThat(registry.get("discount.amount").tag("policy", "rate").summary().count()).isEqualTo(2);
+        assertThat(registry.get("discount.amount").tag("policy", "rate").summary().totalAmount()).isEqualTo(1000);
+
+        assertThat(registry.get("member.repository.size").gauge().value()).isGreaterThanOrEqualTo(2);
+
+    }
+
+}
@@ -0,0 +1,249 @@
+package com.hello.core.config;
+
+import com.hello.core.AppConfig;
+import com.hello.core.member.MemberRepository;
+import com.hello.core.member.MemberService;
+import com.hello.core.member.MemberServiceImpl;
+import com.hello.core.member.MemoryMemberRepository;
+import com.hello.core.order.OrderServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConfigurationProxyBypassTest {
+
+    @Test
+    @DisplayName("호출을 컨테이너 조회로 바꾼 구성 정보는 CGLIB 프록시 없이도 싱글톤이 유지된다")
+    void rewrittenConfiguration() throws Exception {
+
+        Class<?> rewritten = rewrite(AppConfig.class);
+        ConfigurationProxyBypass bypass = new ConfigurationProxyBypass();
+
+        try (AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext()) {
+            ac.addBeanFactoryPostProcessor(bypass);
+            ac.register(rewritten);
+            ac.refresh();
+
+            assertThat(ac.getBean("appConfig").getClass()).isSameAs(rewritten);
+            assertThat(bypass.getBypassedConfigurations()).containsExactly("appConfig");
+
+            MemberRepository memberRepository = ac.getBean(MemberRepository.class);
+            assertThat(ac.getBean(MemberServiceImpl.class).getMemberRepository()).isSameAs(memberRepository);
+            assertThat(ac.getBean(OrderServiceImpl.class).getMemberRepository()).isSameAs(memberRepository);
+        }
+    }
+
+    @Test
+    @DisplayName("컨테이너 밖에서는 바뀐 호출도 원래 메소드를 호출한다")
+    void rewrittenConfigurationOutsideContainer() throws Exception {
+
+        Object appConfig = rewrite(AppConfig.class).getConstructor().newInstance();
+        MemberServiceImpl memberService = (MemberServiceImpl) appConfig.getClass().getMethod("memberService").invoke(appConfig);
+
+        assertThat(memberService.getMemberRepository()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("@Bean 메소드끼리 호출하지 않는 구성 정보는 바꾸지 않아도 프록시를 생략한다")
+    void parameterInjection(){
+
+        ConfigurationProxyBypass bypass = new ConfigurationProxyBypass();
+
+        try (AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext()) {
+            ac.addBeanFactoryPostProcessor(bypass);
+            ac.registerBean("parameterInjectionConfig", ParameterInjectionConfig.class);
+            ac.refresh();
+
+            assertThat(ac.getBean("parameterInjectionConfig").getClass()).isSameAs(ParameterInjectionConfig.class);
+            assertThat(((MemberServiceImpl) ac.getBean(MemberService.class)).getMemberRepository())
+                    .isSameAs(ac.getBean(MemberRepository.class));
+        }
+    }
+
+    @Test
+    @DisplayName("바꾸지 않았거나 안전하지 않은 구성 정보는 CGLIB 프록시를 유지한다")
+    void keepProxy(){
+
+        ConfigurationProxyBypass bypass = new ConfigurationProxyBypass();
+
+        try (AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext()) {
+            ac.addBeanFactoryPostProcessor(bypass);
+            ac.registerBean("appConfig", AppConfig.class);
+            ac.registerBean("methodReferenceConfig", MethodReferenceConfig.class);
+            ac.refresh();
+
+            assertThat(isCglibSubclass(ac.getBean("appConfig"))).isTrue();
+            assertThat(isCglibSubclass(ac.getBean("methodReferenceConfig"))).isTrue();
+            assertThat(bypass.getProxiedConfigurations())
+                    .containsEntry("appConfig", "3 inter-bean calls not rewritten")
+                    .containsKey("methodReferenceConfig");
+        }
+        assertThat(bypass.getProxiedConfigurations().get("methodReferenceConfig")).contains("method handle");
+        assertThat(ConfigurationClassRewriter.rewrite(classFile(MethodReferenceConfig.class), ConfigurationProxyBypassTest::classFile)).isNull();
+    }
+
+    @Test
+    @DisplayName("후처리기보다 먼저 만들어진 구성 정보는 lite 로 바꾸지 않는다")
+    void instantiatedBeforeBypass() throws Exception {
+
+        Class<?> rewritten = rewrite(AppConfig.class);
+        ConfigurationProxyBypass bypass = new ConfigurationProxyBypass();
+
+        try (AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext()) {
+            //빈 정의 등록 단계에서 구성 정보를 조회하는 후처리기
+            ac.addBeanFactoryPostProcessor(new BeanDefinitionRegistryPostProcessor() {
+                @Override
+                public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+                    ((BeanFactory) registry).getBean("appConfig");
+                }
+
+                @Override
+                public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+                }
+            });
+            ac.addBeanFactoryPostProcessor(bypass);
+            ac.register(rewritten);
+            ac.refresh();
+
+            assertThat(bypass.getBypassedConfigurations()).isEmpty();
+            assertThat(bypass.getProxiedConfigurations()).containsEntry("appConfig", "instantiated before bypass");
+        }
+    }
+
+    @Test
+    @DisplayName("null 을 돌려주는 @Bean 메소드는 바뀐 호출에서도 null 이고 다시 호출되지 않는다")
+    void nullBean() throws Exception {
+
+        Class<?> rewritten = rewrite(NullRepositoryConfig.class);
+
+        try (AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext()) {
+            ac.addBeanFactoryPostProcessor(new ConfigurationProxyBypass());
+            ac.registerBean("nullRepositoryConfig", rewritten);
+            ac.refresh();
+
+            Object config = ac.getBean("nullRepositoryConfig");
+            assertThat(config.getClass()).isSameAs(rewritten);
+            assertThat(((MemberServiceImpl) ac.getBean(MemberService.class)).getMemberRepository()).isNull();
+            assertThat(rewritten.getField("memberRepositoryCalls").getInt(config)).isEqualTo(1);
+        }
+    }
+
+    private static boolean isCglibSubclass(Object bean) {
+        return bean.getClass().getName().contains(ClassUtils.CGLIB_CLASS_SEPARATOR);
+    }
+
+    @Configuration
+    static class ParameterInjectionConfig {
+
+        @Bean
+        public MemberRepository memberRepository() {
+            return new MemoryMemberRepository();
+        }
+
+        @Bean
+        public MemberService memberService(MemberRepository memberRepository) {
+            return new MemberServiceImpl(memberRepository);
+        }
+
+    }
+
+    @Configuration
+    static class MethodReferenceConfig {
+
+        @Bean
+        public MemberRepository memberRepository() {
+            return new MemoryMemberRepository();
+        }
+
+        @Bean
+        public MemberService memberService() {
+            Supplier<MemberRepository> repository = this::memberRepository;
+            return new MemberServiceImpl(repository.get());
+        }
+
+    }
+
+    @Configuration
+    public static class NullRepositoryConfig {
+
+        public int memberRepositoryCalls;
+
+        @Bean
+        public MemberRepository memberRepository() {
+            memberRepositoryCalls++;
+            return null;
+        }
+
+        @Bean
+        public MemberService memberService() {
+            return new MemberServiceImpl(memberRepository());
+        }
+
+    }
+
+    private static Class<?> rewrite(Class<?> configClass) throws ClassNotFoundException {
+        byte[] rewritten = ConfigurationClassRewriter.rewrite(classFile(configClass), ConfigurationProxyBypassTest::classFile);
+        assertThat(rewritten).isNotNull();
+        return new RewrittenClassLoader(configClass.getName(), rewritten).loadClass(configClass.getName());
+    }
+
+    private static byte[] classFile(Class<?> type) {
+        return classFile(type.getName().replace('.', '/'));
+    }
+
+    private static byte[] classFile(String internalName) {
+        try (InputStream in = ConfigurationProxyBypassTest.class.getClassLoader().getResourceAsStream(internalName + ".class")) {
+            return in != null ? in.readAllBytes() : null;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //빌드 시점에 바뀐 클래스 파일 대신, 바꾼 바이트코드로 구성 정보 클래스만 따로 로딩한다
+    static class RewrittenClassLoader extends ClassLoader {
+
+        private final String className;
+        private final byte[] classFile;
+
+        RewrittenClassLoader(String className, byte[] classFile) {
+            super(ConfigurationProxyBypassTest.class.getClassLoader());
+            this.className = className;
+            this.classFile = classFile;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!className.equals(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                return loaded != null ? loaded : defineClass(name, classFile, 0, classFile.length);
+            }
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            if (name.equals(className.replace('.', '/') + ".class")) {
+                return new ByteArrayInputStream(classFile);
+            }
+            return super.getResourceAsStream(name);
+        }
+
+    }
+
+}
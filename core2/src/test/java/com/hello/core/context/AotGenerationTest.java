@@ -0,0 +1,54 @@
+package com.hello.core.context;
+
+import com.hello.core.AutoAppConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.GeneratedFiles.Kind;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.aot.ApplicationContextAotGenerator;
+import org.springframework.javapoet.ClassName;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AotGenerationTest {
+
+    /**
+     * AOT 처리
+     * - 빌드 시점에 컨테이너를 분석해서 빈마다 생성자를 직접 호출하는 코드를 생성한다
+     * - 실행 시에는 클래스패스 스캔, 생성자 탐색, 리플렉션 호출 없이 생성된 코드로 빈을 등록하고 만든다
+     */
+    @Test
+    @DisplayName("생성자 주입 빈은 생성자를 직접 호출하는 코드로 생성된다")
+    void generateDirectConstructorCall() throws IOException {
+
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext();
+        ac.register(AutoAppConfig.class);
+
+        InMemoryGeneratedFiles generatedFiles = new InMemoryGeneratedFiles();
+        DefaultGenerationContext generationContext = new DefaultGenerationContext(
+                new ClassNameGenerator(ClassName.get(AutoAppConfig.class)), generatedFiles);
+        new ApplicationContextAotGenerator().processAheadOfTime(ac, generationContext);
+        generationContext.writeGeneratedContent();
+
+        String orderService = source(generatedFiles, "com/hello/core/order/OrderServiceImpl__BeanDefinitions.java");
+        assertThat(orderService).contains("new OrderServiceImpl(args.get(0), args.get(1))");
+
+        String memberService = source(generatedFiles, "com/hello/core/member/MemberServiceImpl__BeanDefinitions.java");
+        assertThat(memberService).contains("new MemberServiceImpl(args.get(0))");
+
+    }
+
+    private String source(InMemoryGeneratedFiles generatedFiles, String path) throws IOException {
+        try (InputStream inputStream = generatedFiles.getGeneratedFile(Kind.SOURCE, path).getInputStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+}
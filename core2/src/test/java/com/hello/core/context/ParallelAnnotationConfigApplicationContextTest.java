@@ -0,0 +1,114 @@
+package com.hello.core.context;
+
+import com.hello.core.AutoAppConfig;
+import com.hello.core.member.MemberRepository;
+import com.hello.core.order.OrderServiceImpl;
+import jakarta.annotation.PostConstruct;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ParallelAnnotationConfigApplicationContextTest {
+
+    static final long INIT_MILLIS = 200;
+
+    @Test
+    @DisplayName("서로 의존하지 않는 빈은 동시에 초기화된다")
+    void independentBeansInParallel(){
+
+        ParallelAnnotationConfigApplicationContext ac = new ParallelAnnotationConfigApplicationContext(4);
+        ac.register(SlowClientA.class, SlowClientB.class, SlowClientC.class, SlowClientD.class);
+        ac.refresh();
+
+        //순서대로 만들면 초기화 구간이 겹치지 않는다 (시작 시간은 장비 부하에 따라 달라지므로 재지 않는다)
+        List<SlowClientA> clients = List.copyOf(ac.getBeansOfType(SlowClientA.class).values());
+        assertThat(ac.getParallelBeanNames()).hasSize(4);
+        assertThat(clients).anySatisfy(client -> assertThat(clients).anySatisfy(other -> {
+            assertThat(other).isNotSameAs(client);
+            assertThat(other.initStart).isLessThan(client.initEnd);
+            assertThat(client.initStart).isLessThan(other.initEnd);
+        }));
+        ac.close();
+
+    }
+
+    @Test
+    @DisplayName("의존하는 빈의 초기화가 끝난 뒤에 생성된다")
+    void initializeDependenciesFirst(){
+
+        ParallelAnnotationConfigApplicationContext ac =
+                new ParallelAnnotationConfigApplicationContext(SlowClientA.class, Gateway.class, FieldInjected.class);
+
+        assertThat(ac.getBean(Gateway.class).clientInitializedOnCreate).isTrue();
+        assertThat(ac.getParallelBeanNames()).contains(nameOf(ac, SlowClientA.class), nameOf(ac, Gateway.class));
+        //필드 주입은 시그니처로 알 수 없으므로 기존 방식으로 만든다
+        assertThat(ac.getParallelBeanNames()).doesNotContain(nameOf(ac, FieldInjected.class));
+        assertThat(ac.getBean(FieldInjected.class).gateway).isSameAs(ac.getBean(Gateway.class));
+        ac.close();
+
+    }
+
+    @Test
+    @DisplayName("컴포넌트 스캔 설정도 같은 빈 그래프로 만들어진다")
+    void autoAppConfig(){
+
+        ParallelAnnotationConfigApplicationContext ac = new ParallelAnnotationConfigApplicationContext(AutoAppConfig.class);
+
+        OrderServiceImpl orderService = ac.getBean(OrderServiceImpl.class);
+        assertThat(orderService.getMemberRepository()).isSameAs(ac.getBean(MemberRepository.class));
+        assertThat(ac.getParallelBeanNames()).contains("orderServiceImpl", "memberServiceImpl", "memoryMemberRepository");
+        ac.close();
+
+    }
+
+    private String nameOf(ParallelAnnotationConfigApplicationContext ac, Class<?> type) {
+        return ac.getBeanNamesForType(type)[0];
+    }
+
+    static class SlowClientA {
+
+        volatile boolean initialized;
+        volatile long initStart;
+        volatile long initEnd;
+
+        @PostConstruct
+        public void init() throws InterruptedException {
+            initStart = System.nanoTime();
+            Thread.sleep(INIT_MILLIS);
+            initEnd = System.nanoTime();
+            initialized = true;
+        }
+
+    }
+
+    static class SlowClientB extends SlowClientA {
+    }
+
+    static class SlowClientC extends SlowClientA {
+    }
+
+    static class SlowClientD extends SlowClientA {
+    }
+
+    static class Gateway {
+
+        final boolean clientInitializedOnCreate;
+
+        Gateway(SlowClientA slowClientA) {
+            this.clientInitializedOnCreate = slowClientA.initialized;
+        }
+
+    }
+
+    static class FieldInjected {
+
+        @Autowired
+        Gateway gateway;
+
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.hello.core.context;
+
+import com.hello.core.AppConfig;
+import com.hello.core.AutoAppConfig;
+import com.hello.core.discount.DiscountPolicy;
+import com.hello.core.discount.FixDiscountPolicy;
+import com.hello.core.discount.RateDiscountPolicy;
+import com.hello.core.member.MemberService;
+import com.hello.core.member.MemberServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TypeIndexedApplicationContextTest {
+
+    @Test
+    @DisplayName("타입 조회 결과가 기본 컨테이너와 같다")
+    void sameAsDefaultContainer(){
+
+        TypeIndexedApplicationContext ac = new TypeIndexedApplicationContext(AppConfig.class);
+        AnnotationConfigApplicationContext expected = new AnnotationConfigApplicationContext(AppConfig.class);
+
+        assertThat(ac.getIndexedTypeCount()).isPositive();
+        assertThat(ac.getBean(MemberService.class)).isSameAs(ac.getBean("memberService"));
+        assertThat(ac.getBean(MemberServiceImpl.class)).isSameAs(ac.getBean("memberService"));
+        assertThat(ac.getBeanNamesForType(Object.class)).containsExactly(expected.getBeanNamesForType(Object.class));
+        assertThat(ac.getBeansOfType(DiscountPolicy.class)).containsOnlyKeys("discountPolicy");
+
+        ac.close();
+        expected.close();
+
+    }
+
+    @Test
+    @DisplayName("후보가 여럿이면 @Primary 빈을 고르고, 없으면 중복 오류가 발생한다")
+    void primaryAndDuplicate(){
+
+        TypeIndexedApplicationContext ac = new TypeIndexedApplicationContext(PrimaryConfig.class);
+
+        assertThat(ac.getBean(DiscountPolicy.class)).isInstanceOf(FixDiscountPolicy.class);
+        assertThat(ac.getBeansOfType(DiscountPolicy.class)).hasSize(2);
+        ac.close();
+
+        TypeIndexedApplicationContext duplicate = new TypeIndexedApplicationContext(DuplicateConfig.class);
+        assertThatThrownBy(() -> duplicate.getBean(DiscountPolicy.class)).isInstanceOf(NoUniqueBeanDefinitionException.class);
+        duplicate.close();
+
+    }
+
+    @Test
+    @DisplayName("@Qualifier 값이나 빈 이름으로 조회한다")
+    void qualifier(){
+
+        TypeIndexedApplicationContext ac = new TypeIndexedApplicationContext(AutoAppConfig.class);
+
+        //RateDiscountPolicy 에는 @MainDiscountPolicy(@Qualifier("mainDiscountPolicy"))가 붙어 있다
+        assertThat(ac.getBean(DiscountPolicy.class, "mainDiscountPolicy")).isInstanceOf(RateDiscountPolicy.class);
+        assertThat(ac.getBean(DiscountPolicy.class, "fixDiscountPolicy")).isInstanceOf(FixDiscountPolicy.class);
+        assertThatThrownBy(() -> ac.getBean(DiscountPolicy.class, "unknown")).isInstanceOf(NoSuchBeanDefinitionException.class);
+        ac.close();
+
+        TypeIndexedApplicationContext duplicate = new TypeIndexedApplicationContext(DuplicateConfig.class);
+        assertThat(duplicate.getBean(DiscountPolicy.class, "subDiscountPolicy")).isInstanceOf(FixDiscountPolicy.class);
+        duplicate.close();
+
+    }
+
+    @Test
+    @DisplayName("refresh 후 싱글톤을 등록하면 인덱스를 다시 만든다")
+    void rebuildAfterRegistration(){
+
+        TypeIndexedApplicationContext ac = new TypeIndexedApplicationContext(AppConfig.class);
+        assertThat(ac.getBeansOfType(DiscountPolicy.class)).hasSize(1);
+
+        ac.getBeanFactory().registerSingleton("fixDiscountPolicy", new FixDiscountPolicy());
+
+        assertThat(ac.getBeansOfType(DiscountPolicy.class)).containsOnlyKeys("discountPolicy", "fixDiscountPolicy");
+        assertThatThrownBy(() -> ac.getBean(DiscountPolicy.class)).isInstanceOf(NoUniqueBeanDefinitionException.class);
+        ac.close();
+
+    }
+
+    @Configuration
+    static class PrimaryConfig {
+
+        @Bean
+        public DiscountPolicy rateDiscountPolicy(){
+            return new RateDiscountPolicy();
+        }
+
+        @Bean
+        @Primary
+        public DiscountPolicy fixDiscountPolicy(){
+            return new FixDiscountPolicy();
+        }
+
+    }
+
+    @Configuration
+    static class DuplicateConfig {
+
+        @Bean
+        public DiscountPolicy rateDiscountPolicy(){
+            return new RateDiscountPolicy();
+        }
+
+        @Bean
+        @Qualifier("subDiscountPolicy")
+        public DiscountPolicy fixDiscountPolicy(){
+            return new FixDiscountPolicy();
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.hello.core.graph;
+
+import com.hello.core.AppConfig;
+import com.hello.core.member.MemberService;
+import jakarta.annotation.PostConstruct;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BeanGraphApplicationContextTest {
+
+    @Test
+    @DisplayName("주입된 의존관계를 그래프로 만든다")
+    void dependencyGraph(){
+
+        BeanGraphApplicationContext ac = new BeanGraphApplicationContext(AppConfig.class);
+        BeanGraphReport report = ac.getReport();
+
+        assertThat(report.beans().get("orderService").dependencies())
+                .contains("memberRepository", "discountPolicy");
+        assertThat(report.beans().get("memberRepository").dependents())
+                .contains("memberService", "orderService");
+
+        System.out.print(report.format());
+        ac.close();
+
+    }
+
+    @Test
+    @DisplayName("자기 초기화 시간 합이 가장 큰 경로가 임계 경로가 된다")
+    void criticalPath(){
+
+        BeanGraphApplicationContext ac = new BeanGraphApplicationContext(SlowClient.class, SlowGateway.class, FastClient.class);
+        BeanGraphReport report = ac.getReport();
+
+        String gateway = nameOf(ac, SlowGateway.class);
+        String client = nameOf(ac, SlowClient.class);
+        assertThat(report.criticalPath()).containsExactly(gateway, client);
+        assertThat(report.criticalPathNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(150));
+        //게이트웨이 시간에는 먼저 만들어진 클라이언트 초기화 시간이 들어가지 않는다
+        assertThat(report.beans().get(gateway).initNanos()).isLessThan(TimeUnit.MILLISECONDS.toNanos(150));
+        ac.close();
+
+    }
+
+    @Test
+    @DisplayName("주입받는 빈이 없고 시작 후 조회되지 않은 빈을 찾는다")
+    void unusedBeans(){
+
+        BeanGraphApplicationContext ac = new BeanGraphApplicationContext(AppConfig.class);
+        ac.getBean(MemberService.class);
+        BeanGraphReport report = ac.getReport();
+
+        assertThat(report.beans().get("memberService").lookupCount()).isEqualTo(1);
+        assertThat(report.unusedBeans()).containsExactly("orderService");
+        ac.close();
+
+    }
+
+    @Test
+    @DisplayName("서로 주입받는 순환 참조가 있어도 임계 경로는 한 번씩만 지난다")
+    void circularDependency(){
+
+        BeanGraphApplicationContext ac = new BeanGraphApplicationContext(LeftBean.class, RightBean.class);
+        BeanGraphReport report = ac.getReport();
+
+        String left = nameOf(ac, LeftBean.class);
+        String right = nameOf(ac, RightBean.class);
+        assertThat(report.beans().get(left).dependencies()).containsExactly(right);
+        assertThat(report.beans().get(right).dependencies()).containsExactly(left);
+        assertThat(report.criticalPath()).containsExactlyInAnyOrder(left, right);
+        ac.close();
+
+    }
+
+    private static String nameOf(BeanGraphApplicationContext ac, Class<?> type) {
+        return ac.getBeanNamesForType(type)[0];
+    }
+
+    static class SlowClient {
+
+        @PostConstruct
+        void init() throws InterruptedException {
+            Thread.sleep(100);
+        }
+
+    }
+
+    static class SlowGateway {
+
+        SlowGateway(SlowClient client) {
+        }
+
+        @PostConstruct
+        void init() throws InterruptedException {
+            Thread.sleep(50);
+        }
+
+    }
+
+    static class FastClient {
+    }
+
+    static class LeftBean {
+
+        @Autowired
+        RightBean right;
+
+    }
+
+    static class RightBean {
+
+        @Autowired
+        LeftBean left;
+
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.hello.core.jfr;
+
+import com.hello.core.AutoAppConfig;
+import com.hello.core.common.MyLogger;
+import com.hello.core.member.Grade;
+import com.hello.core.member.Member;
+import com.hello.core.member.MemberService;
+import com.hello.core.order.OrderService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JfrEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordEvents() throws Exception {
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(OrderCreatedEvent.class);
+            recording.enable(RequestScopeEvent.class);
+            recording.enable(BeanInstantiationEvent.class);
+            recording.start();
+
+            AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext(AutoAppConfig.class);
+            ac.getBean(MemberService.class).join(new Member(801L, "memberA", Grade.VIP));
+            ac.getBean(OrderService.class).createOrder(801L, "itemA", 10000);
+            ac.close();
+
+            MyLogger myLogger = new MyLogger();
+            myLogger.init();
+            myLogger.setRequestURL("http://localhost:8080/log-demo");
+            myLogger.close();
+
+            recording.stop();
+            Path file = tempDir.resolve("events.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        RecordedEvent order = findOne(events, "com.hello.core.OrderCreated");
+        assertThat(order.getLong("memberId")).isEqualTo(801L);
+        assertThat(order.getInt("itemPrice")).isEqualTo(10000);
+        assertThat(order.getInt("discountPrice")).isEqualTo(1000);
+
+        RecordedEvent scope = findOne(events, "com.hello.core.RequestScope");
+        assertThat(scope.getString("requestURL")).isEqualTo("http://localhost:8080/log-demo");
+
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("com.hello.core.BeanInstantiation"))
+                .extracting(event -> event.getString("beanName"))
+                .contains("orderServiceImpl", "memberServiceImpl", "memoryMemberRepository");
+
+    }
+
+    @Test
+    @DisplayName("생성에 실패한 빈의 이벤트는 다음 빈을 생성할 때 버린다")
+    void discardFailedInstantiation(){
+
+        try (Recording recording = new Recording()) {
+            recording.enable(BeanInstantiationEvent.class);
+            recording.start();
+
+            AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext();
+            ac.registerBean(JfrBeanInstantiationPostProcessor.class);
+            ac.registerBean("failingBean", FailingBean.class, definition -> definition.setScope("prototype"));
+            ac.registerBean("workingBean", Object.class, definition -> definition.setScope("prototype"));
+            ac.refresh();
+            JfrBeanInstantiationPostProcessor processor = ac.getBean(JfrBeanInstantiationPostProcessor.class);
+
+            assertThatThrownBy(() -> ac.getBean("failingBean")).isInstanceOf(BeanCreationException.class);
+            assertThat(processor.inProgressCount()).isEqualTo(1);
+
+            ac.getBean("workingBean");
+            assertThat(processor.inProgressCount()).isZero();
+            ac.close();
+        }
+
+    }
+
+    static class FailingBean {
+
+        FailingBean() {
+            throw new IllegalStateException("failed");
+        }
+
+    }
+
+    private RecordedEvent findOne(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no event " + name));
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.hello.core.load;
+
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    AtomicBoolean stalled = new AtomicBoolean();
+
+    LoadGeneratorTest() throws IOException {
+        //처음 받은 /stall 요청만 500ms 멈추고, 나머지는 바로 응답한다
+        server.createContext("/stall", exchange -> {
+            if (stalled.compareAndSet(false, true)) {
+                sleep(500);
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @AfterEach
+    void afterEach() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("서버가 멈춘 동안 밀린 요청은 예정 시각부터 잰 지연으로 기록한다")
+    void coordinatedOmission() throws InterruptedException {
+
+        LoadGenerator generator = new LoadGenerator(baseUri(), List.of(LoadTarget.parse("/stall")), 200,
+                Duration.ZERO, Duration.ofSeconds(1), 1, Duration.ofSeconds(5));
+
+        LoadReport report = generator.run();
+
+        LoadReport.TargetStats stats = report.targets().get("GET /stall");
+        assertThat(stats.requests()).isEqualTo(200);
+        assertThat(stats.errors()).isZero();
+        //보정 전에는 멈춘 요청 하나만 느리지만, 보정 후에는 그동안 보내지 못한 요청도 모두 느리다
+        assertThat(countAbove(stats.serviceTime(), 100)).isLessThan(10);
+        assertThat(countAbove(stats.latency(), 100)).isGreaterThan(50);
+        assertThat(stats.latency().getMaxValue()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toMicros(450));
+        assertThat(report.maxSendDelayNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(450));
+
+    }
+
+    @Test
+    @DisplayName("요청별로 따로 기록하고 4xx 응답은 오류로 센다")
+    void targets() throws InterruptedException {
+
+        stalled.set(true);
+        LoadGenerator generator = new LoadGenerator(baseUri(), List.of(LoadTarget.parse("/stall"), LoadTarget.parse("GET /missing")),
+                100, Duration.ofMillis(200), Duration.ofMillis(500), 16, Duration.ofSeconds(5));
+
+        LoadReport report = generator.run();
+
+        assertThat(report.targets()).containsOnlyKeys("GET /stall", "GET /missing");
+        assertThat(report.targets().get("GET /stall").errors()).isZero();
+        assertThat(report.targets().get("GET /missing").errors()).isEqualTo(report.targets().get("GET /missing").requests());
+        assertThat(report.total().requests()).isEqualTo(50); //워밍업 요청은 기록하지 않는다
+        assertThat(report.format()).contains("GET /stall", "GET /missing", "total");
+
+    }
+
+    @Test
+    @DisplayName("대상은 메소드, 경로, 요청 본문 순서로 해석하고 메소드를 생략하면 GET 이다")
+    void parseTarget(){
+
+        assertThat(LoadTarget.parse("/log-demo")).isEqualTo(new LoadTarget("GET", "/log-demo", null));
+        assertThat(LoadTarget.parse("post /orders {\"memberId\": 1}"))
+                .isEqualTo(new LoadTarget("POST", "/orders", "{\"memberId\": 1}"));
+        assertThatThrownBy(() -> LoadTarget.parse("log-demo")).isInstanceOf(IllegalArgumentException.class);
+
+    }
+
+    private URI baseUri() {
+        return URI.create("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getAddress().getPort());
+    }
+
+    private static long countAbove(Histogram histogram, long millis) {
+        return histogram.getCountBetweenValues(TimeUnit.MILLISECONDS.toMicros(millis), histogram.getHighestTrackableValue());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
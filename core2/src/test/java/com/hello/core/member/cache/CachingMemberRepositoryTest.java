@@ -0,0 +1,146 @@
+package com.hello.core.member.cache;
+
+import com.hello.core.member.Grade;
+import com.hello.core.member.Member;
+import com.hello.core.member.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachingMemberRepositoryTest {
+
+    CountingMemberRepository backing = new CountingMemberRepository();
+
+    @Test
+    @DisplayName("캐시 미스 시 원본 저장소에서 읽어오고 이후에는 캐시에서 조회")
+    void readThrough(){
+
+        backing.save(new Member(1L, "memberA", Grade.VIP));
+        CachingMemberRepository repository = new CachingMemberRepository(backing, 10, Duration.ofMinutes(1));
+
+        Member first = repository.findById(1L);
+        Member second = repository.findById(1L);
+
+        assertThat(first).isSameAs(second);
+        assertThat(backing.findCount).isEqualTo(1);
+        assertThat(repository.stats().hitCount()).isEqualTo(1);
+        assertThat(repository.stats().missCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    @DisplayName("TTL 이 지나면 원본 저장소에서 다시 읽어온다")
+    void expireAfterTtl(){
+
+        AtomicLong now = new AtomicLong();
+        backing.save(new Member(1L, "memberA", Grade.VIP));
+        CachingMemberRepository repository =
+                new CachingMemberRepository(backing, 10, Duration.ofSeconds(1), 0, null, now::get);
+
+        repository.findById(1L);
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        repository.findById(1L);
+
+        assertThat(backing.findCount).isEqualTo(2);
+        assertThat(repository.stats().expirationCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 회원부터 제거")
+    void evictLeastRecentlyUsed(){
+
+        CachingMemberRepository repository = new CachingMemberRepository(backing, 2, Duration.ofMinutes(1));
+        repository.save(new Member(1L, "memberA", Grade.VIP));
+        repository.save(new Member(2L, "memberB", Grade.BASIC));
+        repository.findById(1L);
+        repository.save(new Member(3L, "memberC", Grade.BASIC));
+
+        assertThat(repository.size()).isEqualTo(2);
+        assertThat(repository.stats().evictionCount()).isEqualTo(1);
+
+        repository.findById(2L);
+        assertThat(backing.findCount).isEqualTo(1);
+
+    }
+
+    @Test
+    @DisplayName("write-behind 는 쓰기를 모아서 원본 저장소에 반영")
+    void writeBehind(){
+
+        CachingMemberRepository repository =
+                new CachingMemberRepository(backing, 10, Duration.ofMinutes(1), 100, Duration.ofMinutes(1));
+
+        repository.save(new Member(1L, "memberA", Grade.BASIC));
+        repository.save(new Member(1L, "memberA", Grade.VIP));
+
+        assertThat(backing.saveCount).isZero();
+        assertThat(repository.findById(1L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(repository.stats().pendingWriteCount()).isEqualTo(1);
+
+        repository.close();
+
+        assertThat(backing.saveCount).isEqualTo(1);
+        assertThat(backing.store.get(1L).getGrade()).isEqualTo(Grade.VIP);
+
+    }
+
+    @Test
+    @DisplayName("캐시에서 제거되어도 원본에 반영 전인 쓰기를 먼저 조회")
+    void readPendingWriteAfterEviction(){
+
+        CachingMemberRepository repository =
+                new CachingMemberRepository(backing, 1, Duration.ofMinutes(1), 100, Duration.ofMinutes(1));
+
+        repository.save(new Member(1L, "memberA", Grade.VIP));
+        repository.save(new Member(2L, "memberB", Grade.BASIC));
+
+        assertThat(repository.findById(1L).getName()).isEqualTo("memberA");
+        assertThat(backing.findCount).isZero();
+
+        repository.close();
+
+    }
+
+    @Test
+    @DisplayName("close 후의 쓰기는 거절한다")
+    void rejectSaveAfterClose(){
+
+        CachingMemberRepository repository =
+                new CachingMemberRepository(backing, 10, Duration.ofMinutes(1), 1, Duration.ofMinutes(1));
+        repository.close();
+
+        assertThatThrownBy(() -> repository.save(new Member(1L, "memberA", Grade.VIP)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(repository.stats().pendingWriteCount()).isZero();
+        assertThat(repository.findById(1L)).isNull();
+
+    }
+
+    static class CountingMemberRepository implements MemberRepository {
+
+        private final Map<Long, Member> store = new HashMap<>();
+        private int findCount;
+        private int saveCount;
+
+        @Override
+        public void save(Member member) {
+            saveCount++;
+            store.put(member.getMemberId(), member);
+        }
+
+        @Override
+        public Member findById(Long id) {
+            findCount++;
+            return store.get(id);
+        }
+
+    }
+
+}
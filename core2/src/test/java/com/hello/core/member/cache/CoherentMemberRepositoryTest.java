@@ -0,0 +1,136 @@
+package com.hello.core.member.cache;
+
+import com.hello.core.member.Grade;
+import com.hello.core.member.Member;
+import com.hello.core.member.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CoherentMemberRepositoryTest {
+
+    //노드들이 공유하는 원본 저장소
+    MemberRepository sharedStore = new CachingMemberRepositoryTest.CountingMemberRepository();
+    InvalidationTransport transport = new LoopbackInvalidationTransport();
+
+    CoherentMemberRepository nodeA = node("nodeA");
+    CoherentMemberRepository nodeB = node("nodeB");
+
+    @AfterEach
+    void afterEach() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 회원을 변경하면 내 캐시가 무효화된다")
+    void invalidateOtherNodes(){
+
+        nodeA.save(new Member(1L, "memberA", Grade.BASIC));
+        assertThat(nodeB.findById(1L).getGrade()).isEqualTo(Grade.BASIC);
+
+        nodeA.save(new Member(1L, "memberA", Grade.VIP));
+
+        assertThat(nodeB.getCache().size()).isZero();
+        assertThat(nodeB.findById(1L).getGrade()).isEqualTo(Grade.VIP);
+
+    }
+
+    @Test
+    @DisplayName("자기가 보낸 무효화 메세지는 무시한다")
+    void ignoreOwnMessages(){
+
+        nodeA.save(new Member(1L, "memberA", Grade.VIP));
+
+        assertThat(nodeA.getCache().size()).isEqualTo(1);
+        assertThat(nodeA.findById(1L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(nodeA.getCache().stats().hitCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    @DisplayName("전체 무효화는 모든 노드의 캐시를 비운다")
+    void invalidateAll(){
+
+        nodeA.save(new Member(1L, "memberA", Grade.VIP));
+        nodeB.findById(1L);
+
+        nodeA.invalidateAll();
+
+        assertThat(nodeA.getCache().size()).isZero();
+        assertThat(nodeB.getCache().size()).isZero();
+
+    }
+
+    @Test
+    @DisplayName("원본을 읽는 도중 다른 노드가 변경하면 읽은 이전 값을 캐시에 넣지 않는다")
+    void invalidateDuringLoad() throws Exception {
+
+        nodeA.save(new Member(1L, "memberA", Grade.BASIC));
+
+        //nodeB 가 원본에서 이전 값을 읽은 뒤 캐시에 넣기 전에 멈춘다
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        MemberRepository pausingStore = new MemberRepository() {
+            @Override
+            public void save(Member member) {
+                sharedStore.save(member);
+            }
+
+            @Override
+            public Member findById(Long memberId) {
+                Member member = sharedStore.findById(memberId);
+                loaded.countDown();
+                await(resume);
+                return member;
+            }
+        };
+        CoherentMemberRepository nodeC =
+                new CoherentMemberRepository("nodeC", new CachingMemberRepository(pausingStore, 100, Duration.ofMinutes(10)), transport);
+
+        CompletableFuture<Member> load = CompletableFuture.supplyAsync(() -> nodeC.findById(1L));
+        await(loaded);
+        nodeA.save(new Member(1L, "memberA", Grade.VIP));
+        resume.countDown();
+
+        assertThat(load.get(5, TimeUnit.SECONDS).getGrade()).isEqualTo(Grade.BASIC);
+        assertThat(nodeC.getCache().size()).isZero();
+        assertThat(nodeC.findById(1L).getGrade()).isEqualTo(Grade.VIP);
+        nodeC.close();
+
+    }
+
+    @Test
+    @DisplayName("write-behind 캐시는 원본 반영 전에 무효화를 보내므로 받지 않는다")
+    void rejectWriteBehindCache(){
+
+        CachingMemberRepository writeBehind =
+                new CachingMemberRepository(sharedStore, 100, Duration.ofMinutes(10), 10, Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> new CoherentMemberRepository("nodeC", writeBehind, transport))
+                .isInstanceOf(IllegalArgumentException.class);
+        writeBehind.close();
+
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CoherentMemberRepository node(String nodeId) {
+        CachingMemberRepository cache = new CachingMemberRepository(sharedStore, 100, Duration.ofMinutes(10));
+        return new CoherentMemberRepository(nodeId, cache, transport);
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.hello.core.member.shard;
+
+import com.hello.core.member.Grade;
+import com.hello.core.member.Member;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ShardedMemberRepositoryTest {
+
+    ShardedMemberRepository repository = new ShardedMemberRepository(4);
+
+    @AfterEach
+    void afterEach(){
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("회원은 담당 파티션에 저장되고 조회된다")
+    void saveAndFind(){
+
+        for (long id = 1; id <= 1000; id++) {
+            repository.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+
+        assertThat(repository.findById(500L).getName()).isEqualTo("member500");
+        assertThat(repository.findById(5000L)).isNull();
+        assertThat(repository.size()).isEqualTo(1000);
+
+    }
+
+    @Test
+    @DisplayName("회원이 모든 파티션에 고르게 나뉜다")
+    void distribution(){
+
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (long id = 1; id <= 10000; id++) {
+            counts.merge(repository.partitionFor(id).getPartitionId(), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(4);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(1500, 3500));
+
+    }
+
+    @Test
+    @DisplayName("연속된 작은 memberId 도 한 파티션에 몰리지 않는다")
+    void lowIdDistribution(){
+
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (long id = 1; id <= 127; id++) {
+            counts.merge(repository.partitionFor(id).getPartitionId(), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(4);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(15, 60));
+
+    }
+
+    @Test
+    @DisplayName("파티션 추가 중에 저장, 조회해도 회원이 사라지지 않는다")
+    void rebalanceWhileServing() throws Exception {
+
+        for (long id = 1; id <= 1000; id++) {
+            repository.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<Long>> clients = new ArrayList<>();
+        for (int client = 0; client < 4; client++) {
+            long offset = 1000 + client * 100_000L;
+            clients.add(executor.submit(() -> {
+                long saved = 0;
+                while (running.get()) {
+                    long newId = offset + ++saved;
+                    repository.save(new Member(newId, "member" + newId, Grade.BASIC));
+                    long existingId = 1 + newId % 1000;
+                    assertThat(repository.findById(existingId)).isNotNull();
+                    assertThat(repository.findById(newId)).isNotNull();
+                }
+                return saved;
+            }));
+        }
+
+        repository.addPartition();
+        repository.addPartition();
+        running.set(false);
+
+        long saved = 0;
+        for (Future<Long> client : clients) {
+            saved += client.get();
+        }
+        executor.shutdown();
+        assertThat(repository.partitionCount()).isEqualTo(6);
+        assertThat(repository.size()).isEqualTo(1000 + saved);
+
+    }
+
+    @Test
+    @DisplayName("파티션 추가 시 새 파티션이 담당할 회원만 옮겨진다")
+    void rebalance(){
+
+        Map<Long, Integer> before = new HashMap<>();
+        for (long id = 1; id <= 1000; id++) {
+            repository.save(new Member(id, "member" + id, Grade.BASIC));
+            before.put(id, repository.partitionFor(id).getPartitionId());
+        }
+
+        int moved = repository.addPartition();
+
+        Set<Long> movedIds = new HashSet<>();
+        for (long id = 1; id <= 1000; id++) {
+            int after = repository.partitionFor(id).getPartitionId();
+            if (after != before.get(id)) {
+                assertThat(after).isEqualTo(4);
+                movedIds.add(id);
+            }
+            assertThat(repository.findById(id).getName()).isEqualTo("member" + id);
+        }
+
+        assertThat(repository.partitionCount()).isEqualTo(5);
+        assertThat(moved).isEqualTo(movedIds.size()).isBetween(100, 350);
+        assertThat(repository.size()).isEqualTo(1000);
+
+    }
+
+}
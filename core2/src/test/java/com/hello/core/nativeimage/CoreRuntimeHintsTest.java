@@ -0,0 +1,33 @@
+package com.hello.core.nativeimage;
+
+import com.hello.core.discount.RateDiscountPolicy;
+import com.hello.core.member.MemberServiceImpl;
+import com.hello.core.member.MemoryMemberRepository;
+import com.hello.core.order.OrderServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CoreRuntimeHintsTest {
+
+    RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void xmlConfigHints() {
+
+        new CoreRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.resource().forResource(CoreRuntimeHints.XML_CONFIG)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/spring.schemas")).accepts(hints);
+
+        //XML 에 적힌 빈 클래스는 생성자를 리플렉션으로 호출할 수 있어야 한다
+        assertThat(RuntimeHintsPredicates.reflection().onType(MemberServiceImpl.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(MemoryMemberRepository.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(OrderServiceImpl.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(RateDiscountPolicy.class)).accepts(hints);
+
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.hello.core.network;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 루프백 서버
+ * - "id sleep:millis" 요청은 지정한 시간 뒤에 응답하므로 응답 순서가 요청 순서와 달라질 수 있다
+ * - 그 외의 요청은 "id echo:message" 로 바로 응답하고, PING 에는 PONG 으로 응답한다
+ */
+class LoopbackStubServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+    private final AtomicInteger acceptedCount = new AtomicInteger();
+    private final ScheduledExecutorService responder = Executors.newScheduledThreadPool(4);
+
+    LoopbackStubServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "stub-server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    int acceptedCount() {
+        return acceptedCount.get();
+    }
+
+    /**
+     * 서버 쪽에서 모든 연결을 끊는다
+     */
+    void dropConnections() throws IOException {
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        sockets.clear();
+    }
+
+    /**
+     * 서버 쪽에서 가장 먼저 맺은 연결 하나만 끊는다
+     */
+    void dropFirstConnection() throws IOException {
+        Socket socket = sockets.remove(0);
+        socket.close();
+    }
+
+    /**
+     * 새 연결을 더 받지 않는다 (맺어 둔 연결은 그대로 응답한다)
+     */
+    void stopAccepting() throws IOException {
+        serverSocket.close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        responder.shutdownNow();
+        serverSocket.close();
+        dropConnections();
+    }
+
+    private void acceptLoop() {
+        try {
+            while (true) {
+                Socket socket = serverSocket.accept();
+                sockets.add(socket);
+                acceptedCount.incrementAndGet();
+                Thread handler = new Thread(() -> handle(socket), "stub-server-handler");
+                handler.setDaemon(true);
+                handler.start();
+            }
+        } catch (IOException e) {
+            //서버 종료
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf(' ');
+                String id = line.substring(0, separator);
+                String message = line.substring(separator + 1);
+                if (message.startsWith("sleep:")) {
+                    long millis = Long.parseLong(message.substring("sleep:".length()));
+                    responder.schedule(() -> reply(writer, id, message), millis, TimeUnit.MILLISECONDS);
+                } else if (message.equals(PooledNetworkClient.PING)) {
+                    reply(writer, id, PooledNetworkClient.PONG);
+                } else {
+                    reply(writer, id, "echo:" + message);
+                }
+            }
+        } catch (IOException e) {
+            //연결 종료
+        }
+    }
+
+    private void reply(Writer writer, String id, String reply) {
+        try {
+            synchronized (writer) {
+                writer.write(id + " " + reply + "\n");
+                writer.flush();
+            }
+        } catch (IOException e) {
+            //연결 종료
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.hello.core.network;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PooledNetworkClientTest {
+
+    LoopbackStubServer server = new LoopbackStubServer();
+
+    PooledNetworkClientTest() throws IOException {
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("여러 번 호출해도 풀의 연결을 재사용한다")
+    void reuseConnections(){
+
+        PooledNetworkClient client = client(2, Duration.ofMinutes(1));
+        client.init();
+
+        List<CompletableFuture<String>> replies = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            replies.add(client.call("hello" + i));
+        }
+
+        assertThat(replies.get(99).join()).isEqualTo("echo:hello99");
+        assertThat(CompletableFuture.allOf(replies.toArray(CompletableFuture[]::new))).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(server.acceptedCount()).isEqualTo(2);
+        client.close();
+
+    }
+
+    @Test
+    @DisplayName("한 연결에서 먼저 끝난 응답이 먼저 완료된다")
+    void multiplexing(){
+
+        PooledNetworkClient client = client(1, Duration.ofMinutes(1));
+        client.init();
+
+        CompletableFuture<String> slow = client.call("sleep:300");
+        CompletableFuture<String> fast = client.call("fast");
+
+        assertThat(fast.join()).isEqualTo("echo:fast");
+        assertThat(slow).isNotDone();
+        assertThat(slow.join()).isEqualTo("sleep:300");
+        client.close();
+
+    }
+
+    @Test
+    @DisplayName("끊긴 연결은 헬스 체크에서 다시 맺는다")
+    void reconnectBrokenConnections() throws IOException {
+
+        PooledNetworkClient client = client(2, Duration.ofMillis(20));
+        client.init();
+        await(() -> server.acceptedCount() == 2);
+
+        server.dropConnections();
+
+        await(() -> server.acceptedCount() >= 4);
+        assertThat(client.call("again").join()).isEqualTo("echo:again");
+        client.close();
+
+    }
+
+    @Test
+    @DisplayName("끊긴 연결을 다시 맺지 못해도 살아 있는 연결로 보낸다")
+    void fallbackToLiveConnection() throws IOException {
+
+        PooledNetworkClient client = client(2, Duration.ofMinutes(1));
+        client.init();
+        await(() -> server.acceptedCount() == 2);
+
+        server.stopAccepting();
+        server.dropFirstConnection();
+        await(() -> client.connectedCount() == 1);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(client.call("again" + i).join()).isEqualTo("echo:again" + i);
+        }
+        client.close();
+
+    }
+
+    @Test
+    @DisplayName("살아 있는 연결이 없으면 호출할 때 다시 맺는다")
+    void reconnectOnCallWithoutLiveConnection() throws IOException {
+
+        PooledNetworkClient client = client(2, Duration.ofMinutes(1));
+        client.init();
+        await(() -> server.acceptedCount() == 2);
+
+        server.dropConnections();
+        await(() -> client.connectedCount() == 0);
+
+        assertThat(client.call("again").join()).isEqualTo("echo:again");
+        client.close();
+
+    }
+
+    @Test
+    @DisplayName("초기화 중 연결에 실패하면 먼저 맺은 연결을 닫는다")
+    void closeOpenedConnectionsWhenInitFails(){
+
+        List<Connection> opened = new ArrayList<>();
+        PooledNetworkClient client = new PooledNetworkClient("127.0.0.1", server.port(), 3,
+                Duration.ofSeconds(2), Duration.ofMinutes(1), Duration.ofSeconds(2)) {
+            @Override
+            Connection connect() {
+                if (opened.size() == 2) {
+                    throw new UncheckedIOException("connect failed", new IOException("refused"));
+                }
+                Connection connection = super.connect();
+                opened.add(connection);
+                return connection;
+            }
+        };
+
+        assertThatThrownBy(client::init).isInstanceOf(UncheckedIOException.class);
+        assertThat(opened).hasSize(2).allMatch(Connection::isBroken);
+        assertThat(client.connectedCount()).isZero();
+
+    }
+
+    @Test
+    @DisplayName("종료 시 처리 중인 요청은 끝까지 처리하고 새 요청은 거절한다")
+    void gracefulDrain(){
+
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext();
+        ac.registerBean(PooledNetworkClient.class,
+                () -> client(1, Duration.ofMinutes(1)));
+        ac.refresh();
+        PooledNetworkClient client = ac.getBean(PooledNetworkClient.class);
+
+        CompletableFuture<String> inFlight = client.call("sleep:200");
+        ac.close();
+
+        assertThat(inFlight).isCompletedWithValue("sleep:200");
+        assertThat(client.call("late")).isCompletedExceptionally();
+
+    }
+
+    private PooledNetworkClient client(int poolSize, Duration healthCheckInterval) {
+        return new PooledNetworkClient("127.0.0.1", server.port(), poolSize,
+                Duration.ofSeconds(2), healthCheckInterval, Duration.ofSeconds(2));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("timed out").isNegative();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.hello.core.order;
+
+import com.hello.core.discount.FixDiscountPolicy;
+import com.hello.core.member.Grade;
+import com.hello.core.member.Member;
+import com.hello.core.member.MemoryMemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AsyncOrderServiceTest {
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void afterEach(){
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("비동기로 주문을 생성한다")
+    void createOrderAsync(){
+
+        MemoryMemberRepository memberRepository = new MemoryMemberRepository();
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        OrderService orderService = new OrderServiceImpl(memberRepository, new FixDiscountPolicy());
+        AsyncOrderService asyncOrderService = new AsyncOrderService(orderService, executor, 10, Duration.ofSeconds(5));
+
+        CompletableFuture<Order> orderA = asyncOrderService.createOrderAsync(1L, "itemA", 10000);
+        CompletableFuture<Order> orderB = asyncOrderService.createOrderAsync(1L, "itemB", 20000);
+
+        assertThat(orderA.join().getDiscountPrice()).isEqualTo(1000);
+        assertThat(orderB.join().calculatePrice()).isEqualTo(19000);
+
+    }
+
+    @Test
+    @DisplayName("동시 처리 수를 넘으면 바로 거절하고, 작업이 끝나면 다시 받는다")
+    void admissionControl() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncOrderService asyncOrderService =
+                new AsyncOrderService(blockingOrderService(release), executor, 2, Duration.ofSeconds(5));
+
+        CompletableFuture<Order> first = asyncOrderService.createOrderAsync(1L, "itemA", 1000);
+        CompletableFuture<Order> second = asyncOrderService.createOrderAsync(1L, "itemA", 1000);
+        CompletableFuture<Order> rejected = asyncOrderService.createOrderAsync(1L, "itemA", 1000);
+
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        first.join();
+        second.join();
+        awaitPermits(asyncOrderService, 2);
+
+        assertThat(asyncOrderService.createOrderAsync(1L, "itemA", 1000).join()).isNotNull();
+
+    }
+
+    @Test
+    @DisplayName("타임아웃이 지나면 실패하고 처리 중인 작업을 인터럽트한다")
+    void timeout() throws Exception {
+
+        AsyncOrderService asyncOrderService =
+                new AsyncOrderService(blockingOrderService(new CountDownLatch(1)), executor, 1, Duration.ofMillis(50));
+
+        CompletableFuture<Order> order = asyncOrderService.createOrderAsync(1L, "itemA", 1000);
+
+        assertThatThrownBy(order::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        awaitPermits(asyncOrderService, 1);
+
+    }
+
+    @Test
+    @DisplayName("취소하면 처리 중인 작업을 인터럽트하고 허용 수를 반납한다")
+    void cancel() throws Exception {
+
+        AsyncOrderService asyncOrderService =
+                new AsyncOrderService(blockingOrderService(new CountDownLatch(1)), executor, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<Order> order = asyncOrderService.createOrderAsync(1L, "itemA", 1000);
+        Thread.sleep(50);
+        order.cancel(true);
+
+        assertThat(order.isCancelled()).isTrue();
+        awaitPermits(asyncOrderService, 1);
+
+    }
+
+    @Test
+    @DisplayName("다른 곳에서 건 인터럽트는 작업이 끝나도 지우지 않는다")
+    void keepForeignInterrupt(){
+
+        //풀 종료(shutdownNow)처럼 주문 처리 중에 외부에서 스레드를 인터럽트한 경우
+        OrderService interruptedOrderService = (memberId, itemName, itemPrice) -> {
+            Thread.currentThread().interrupt();
+            return new Order(memberId, itemName, itemPrice, 0);
+        };
+        AsyncOrderService asyncOrderService =
+                new AsyncOrderService(interruptedOrderService, Runnable::run, 1, Duration.ofSeconds(5));
+
+        asyncOrderService.createOrderAsync(1L, "itemA", 1000).join();
+
+        assertThat(Thread.interrupted()).isTrue();
+
+    }
+
+    private OrderService blockingOrderService(CountDownLatch release) {
+        return (memberId, itemName, itemPrice) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("interrupted", e);
+            }
+            return new Order(memberId, itemName, itemPrice, 0);
+        };
+    }
+
+    private void awaitPermits(AsyncOrderService asyncOrderService, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (asyncOrderService.availablePermits() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(asyncOrderService.availablePermits()).isEqualTo(expected);
+    }
+
+}
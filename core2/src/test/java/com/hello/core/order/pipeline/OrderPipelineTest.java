@@ -0,0 +1,135 @@
+package com.hello.core.order.pipeline;
+
+import com.hello.core.discount.RateDiscountPolicy;
+import com.hello.core.member.Grade;
+import com.hello.core.member.Member;
+import com.hello.core.member.MemoryMemberRepository;
+import com.hello.core.order.Order;
+import com.hello.core.order.OrderService;
+import com.hello.core.order.OrderServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OrderPipelineTest {
+
+    @Test
+    @DisplayName("여러 스레드의 주문이 회원별 파티션에서 처리되고 집계된다")
+    void createOrders() throws Exception {
+
+        MemoryMemberRepository memberRepository = new MemoryMemberRepository();
+        memberRepository.save(new Member(101L, "memberA", Grade.VIP));
+        memberRepository.save(new Member(102L, "memberB", Grade.BASIC));
+        OrderService orderService = new OrderServiceImpl(memberRepository, new RateDiscountPolicy());
+
+        try (OrderPipeline pipeline = new OrderPipeline(orderService, 4, 1024, 32, Duration.ofSeconds(1))) {
+
+            List<CompletableFuture<Order>> futures = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        CompletableFuture<Order> a = pipeline.createOrder(101L, "itemA", 10000);
+                        CompletableFuture<Order> b = pipeline.createOrder(102L, "itemB", 20000);
+                        synchronized (futures) {
+                            futures.add(a);
+                            futures.add(b);
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            MemberOrderSummary vip = pipeline.summaryOf(101L).join();
+            assertThat(vip.orderCount()).isEqualTo(400);
+            assertThat(vip.totalItemPrice()).isEqualTo(400 * 10000L);
+            assertThat(vip.totalDiscountPrice()).isEqualTo(400 * 1000L);
+
+            MemberOrderSummary basic = pipeline.summaryOf(102L).join();
+            assertThat(basic.orderCount()).isEqualTo(400);
+            assertThat(basic.totalDiscountPrice()).isZero();
+        }
+
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 주문을 거절한다")
+    void backpressure() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        OrderService blockingService = (memberId, itemName, itemPrice) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Order(memberId, itemName, itemPrice, 0);
+        };
+
+        try (OrderPipeline pipeline = new OrderPipeline(blockingService, 1, 2, 1, Duration.ofMillis(10))) {
+
+            List<CompletableFuture<Order>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(pipeline.createOrder(1L, "itemA", 1000));
+            }
+
+            CompletableFuture<Order> rejected = futures.get(futures.size() - 1);
+            assertThatThrownBy(rejected::join)
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+        }
+
+    }
+
+    @Test
+    @DisplayName("종료와 동시에 들어온 주문도 처리되거나 거절되고, 기다리는 채로 남지 않는다")
+    void closeWhileOrdering() throws Exception {
+
+        OrderService orderService = (memberId, itemName, itemPrice) -> new Order(memberId, itemName, itemPrice, 0);
+        OrderPipeline pipeline = new OrderPipeline(orderService, 2, 64, 8, Duration.ofMillis(10));
+
+        List<CompletableFuture<Order>> futures = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long memberId = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    futures.add(pipeline.createOrder(memberId, "itemA", 1000));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        Thread.sleep(5);
+        pipeline.close();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .handle((result, error) -> null)
+                .get(10, TimeUnit.SECONDS);
+        assertThat(futures).hasSize(8000).allMatch(CompletableFuture::isDone);
+
+    }
+
+}
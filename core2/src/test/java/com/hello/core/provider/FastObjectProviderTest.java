@@ -0,0 +1,167 @@
+package com.hello.core.provider;
+
+import com.hello.core.member.MemberRepository;
+import com.hello.core.member.MemoryMemberRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Scope;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FastObjectProviderTest {
+
+    @Test
+    @DisplayName("생성자 주입과 초기화 콜백을 적용해서 매번 새 객체를 만든다")
+    void createPrototype(){
+
+        AnnotationConfigApplicationContext ac =
+                new AnnotationConfigApplicationContext(MemoryMemberRepository.class, PrototypeBean.class);
+        FastObjectProvider<PrototypeBean> provider = FastObjectProvider.of(ac.getBeanFactory(), PrototypeBean.class);
+
+        PrototypeBean prototypeBean1 = provider.getObject();
+        PrototypeBean prototypeBean2 = provider.getObject();
+
+        assertThat(prototypeBean1).isNotSameAs(prototypeBean2);
+        assertThat(prototypeBean1.initialized).isTrue();
+        assertThat(prototypeBean1.memberRepository).isSameAs(ac.getBean(MemberRepository.class));
+        assertThat(prototypeBean2.memberRepository).isSameAs(prototypeBean1.memberRepository);
+
+        ac.close();
+
+    }
+
+    @Test
+    @DisplayName("반납한 객체는 초기화 후 재사용한다")
+    void pooling(){
+
+        AnnotationConfigApplicationContext ac =
+                new AnnotationConfigApplicationContext(MemoryMemberRepository.class, PrototypeBean.class);
+        FastObjectProvider<PrototypeBean> provider = FastObjectProvider.of(ac.getBeanFactory(), PrototypeBean.class, 1);
+
+        PrototypeBean prototypeBean = provider.getObject();
+        prototypeBean.addCount();
+        provider.release(prototypeBean);
+
+        assertThat(provider.pooledCount()).isEqualTo(1);
+
+        PrototypeBean reused = provider.getObject();
+        assertThat(reused).isSameAs(prototypeBean);
+        assertThat(reused.getCount()).isZero();
+        assertThat(provider.getObject()).isNotSameAs(reused);
+
+        ac.close();
+
+    }
+
+    @Test
+    @DisplayName("@Autowired 외의 필드, 메소드 주입도 적용한다")
+    void fieldAndMethodInjection(){
+
+        AnnotationConfigApplicationContext ac =
+                new AnnotationConfigApplicationContext(MemoryMemberRepository.class, InjectedPrototypeBean.class);
+        FastObjectProvider<InjectedPrototypeBean> provider =
+                FastObjectProvider.of(ac.getBeanFactory(), InjectedPrototypeBean.class);
+
+        InjectedPrototypeBean bean = provider.getObject();
+
+        MemberRepository memberRepository = ac.getBean(MemberRepository.class);
+        assertThat(bean.name).isEqualTo("prototype");
+        assertThat(bean.injected).isSameAs(memberRepository);
+        assertThat(bean.resource).isSameAs(memberRepository);
+        assertThat(bean.setterInjected).isSameAs(memberRepository);
+
+        ac.close();
+
+    }
+
+    @Test
+    @DisplayName("싱글톤 빈은 지원하지 않는다")
+    void singletonIsNotSupported(){
+
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext(MemoryMemberRepository.class);
+
+        assertThatThrownBy(() -> FastObjectProvider.of(ac.getBeanFactory(), MemoryMemberRepository.class))
+                .isInstanceOf(BeanDefinitionStoreException.class);
+
+        ac.close();
+
+    }
+
+    @Test
+    @DisplayName("초기화 메소드를 지정한 빈 정의는 지원하지 않는다")
+    void initMethodIsNotSupported(){
+
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext();
+        ac.registerBean(MemoryMemberRepository.class);
+        ac.registerBean(PrototypeBean.class, definition -> definition.setInitMethodName("init"));
+        ac.refresh();
+        assertThat(ac.isPrototype(ac.getBeanNamesForType(PrototypeBean.class)[0])).isTrue();
+
+        assertThatThrownBy(() -> FastObjectProvider.of(ac.getBeanFactory(), PrototypeBean.class))
+                .isInstanceOf(BeanDefinitionStoreException.class)
+                .hasMessageContaining("init method");
+
+        ac.close();
+
+    }
+
+    @Scope("prototype")
+    static class PrototypeBean implements Resettable {
+
+        private final MemberRepository memberRepository;
+        private int count;
+        private boolean initialized;
+
+        PrototypeBean(MemberRepository memberRepository) {
+            this.memberRepository = memberRepository;
+        }
+
+        public void addCount(){
+            this.count++;
+        }
+
+        public int getCount(){
+            return this.count;
+        }
+
+        @PostConstruct
+        public void init(){
+            this.initialized = true;
+        }
+
+        @Override
+        public void reset() {
+            this.count = 0;
+        }
+
+    }
+
+    @Scope("prototype")
+    static class InjectedPrototypeBean {
+
+        @Value("${prototype.name:prototype}")
+        private String name;
+
+        @Inject
+        private MemberRepository injected;
+
+        @Resource
+        private MemberRepository resource;
+
+        private MemberRepository setterInjected;
+
+        @Autowired
+        void setMemberRepository(MemberRepository memberRepository) {
+            this.setterInjected = memberRepository;
+        }
+
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.hello.core.scan;
+
+import com.hello.core.order.OrderServiceImpl;
+import com.hello.core.scan.filter.BeanA;
+import com.hello.core.scan.filter.MyIncludeComponent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.index.CandidateComponentsIndex;
+import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.stereotype.Component;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ComponentIndexTest {
+
+    /**
+     * 컴포넌트 인덱스
+     * - spring-context-indexer 가 컴파일 시점에 @Indexed 가 붙은(@Component 포함) 클래스를 META-INF/spring.components 에 기록한다
+     * - 인덱스가 있으면 컴포넌트 스캔이 클래스패스의 모든 클래스 파일을 탐색하지 않고 인덱스에 있는 후보만 확인한다
+     * - include 필터의 어노테이션에도 @Indexed 를 붙여야 인덱스로 처리된다. 아니면 기존 방식으로 스캔한다
+     * - spring.index.ignore=true 시스템 프로퍼티로 인덱스를 끌 수 있다
+     */
+    CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(getClass().getClassLoader());
+
+    @Test
+    @DisplayName("컴파일 시 생성된 인덱스에 컴포넌트가 기록된다")
+    void componentsAreIndexed(){
+
+        assertThat(index).isNotNull();
+        assertThat(index.getCandidateTypes("com.hello.core", Component.class.getName()))
+                .contains(OrderServiceImpl.class.getName());
+
+    }
+
+    @Test
+    @DisplayName("커스텀 필터 어노테이션이 붙은 클래스도 인덱스로 찾는다")
+    void customFilterAnnotationIsIndexed(){
+
+        assertThat(index.getCandidateTypes("com.hello.core.scan.filter", MyIncludeComponent.class.getName()))
+                .containsExactly(BeanA.class.getName());
+
+    }
+
+}
@@ -1,9 +1,12 @@
 package com.hello.core.scan.filter;
 
+import org.springframework.stereotype.Indexed;
+
 import java.lang.annotation.*;
 
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
+@Indexed
 public @interface MyExcludeComponent {
 }
@@ -7,5 +7,6 @@ import java.lang.annotation.*;
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
+@Indexed //컴포넌트 인덱스에 이 어노테이션이 붙은 클래스를 기록한다(인덱스만으로 필터 처리 가능)
 public @interface MyIncludeComponent {
 }
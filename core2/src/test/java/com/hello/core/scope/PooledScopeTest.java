@@ -0,0 +1,230 @@
+package com.hello.core.scope;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Scope;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PooledScopeTest {
+
+    static final AtomicInteger connectCount = new AtomicInteger();
+    static final AtomicInteger disconnectCount = new AtomicInteger();
+
+    AnnotationConfigApplicationContext ac;
+
+    @AfterEach
+    void afterEach() {
+        if (ac != null) {
+            ac.close();
+        }
+        connectCount.set(0);
+        disconnectCount.set(0);
+    }
+
+    @Test
+    @DisplayName("반납한 객체를 다시 대여하면 새로 연결하지 않는다")
+    void reuseReturnedBean(){
+
+        ac = context(new PooledScope(2, Duration.ofMillis(100), Duration.ofMinutes(1)));
+        PooledScope scope = ac.getBean(PooledScopeConfigurer.class).getScope();
+
+        PooledClient client1 = ac.getBean(PooledClient.class);
+        scope.release(client1);
+        PooledClient client2 = ac.getBean(PooledClient.class);
+
+        assertThat(client2).isSameAs(client1);
+        assertThat(connectCount.get()).isEqualTo(1);
+
+        PoolStats stats = scope.stats("pooledClient");
+        assertThat(stats.createdCount()).isEqualTo(1);
+        assertThat(stats.borrowedCount()).isEqualTo(2);
+        assertThat(stats.activeCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    @DisplayName("최대 개수를 모두 대여 중이면 대기 후 예외가 발생한다")
+    void exhausted(){
+
+        ac = context(new PooledScope(2, Duration.ofMillis(50), Duration.ofMinutes(1)));
+
+        PooledClient client1 = ac.getBean(PooledClient.class);
+        PooledClient client2 = ac.getBean(PooledClient.class);
+
+        assertThat(client1).isNotSameAs(client2);
+        assertThatThrownBy(() -> ac.getBean(PooledClient.class))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessageContaining("exhausted");
+
+    }
+
+    @Test
+    @DisplayName("대기 중에 반납되면 그 객체를 대여한다")
+    void waitForRelease() throws Exception {
+
+        ac = context(new PooledScope(1, Duration.ofSeconds(5), Duration.ofMinutes(1)));
+        PooledScope scope = ac.getBean(PooledScopeConfigurer.class).getScope();
+
+        PooledClient client = ac.getBean(PooledClient.class);
+        Thread releaser = new Thread(() -> {
+            sleep(50);
+            scope.release("pooledClient", client);
+        });
+        releaser.start();
+
+        assertThat(ac.getBean(PooledClient.class)).isSameAs(client);
+        releaser.join();
+
+    }
+
+    @Test
+    @DisplayName("검증에 실패한 객체는 소멸시키고 새로 만든다")
+    void validateOnBorrow(){
+
+        ac = context(new PooledScope(2, Duration.ofMillis(100), Duration.ofMinutes(1),
+                bean -> ((PooledClient) bean).connected));
+        PooledScope scope = ac.getBean(PooledScopeConfigurer.class).getScope();
+
+        PooledClient broken = ac.getBean(PooledClient.class);
+        broken.connected = false; //연결이 끊긴 상황
+        scope.release(broken);
+
+        PooledClient client = ac.getBean(PooledClient.class);
+
+        assertThat(client).isNotSameAs(broken);
+        assertThat(disconnectCount.get()).isEqualTo(1);
+        assertThat(scope.stats("pooledClient").evictedCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    @DisplayName("유휴 시간이 지난 객체는 제거되고, 컨테이너 종료 시 남은 객체도 소멸된다")
+    void evictIdleAndDestroyOnClose(){
+
+        ac = context(new PooledScope(2, Duration.ofMillis(100), Duration.ofMillis(20)));
+        PooledScope scope = ac.getBean(PooledScopeConfigurer.class).getScope();
+
+        PooledClient client1 = ac.getBean(PooledClient.class);
+        scope.release(client1);
+        sleep(30);
+        scope.evictIdle();
+
+        assertThat(disconnectCount.get()).isEqualTo(1);
+        assertThat(scope.stats("pooledClient").idleCount()).isZero();
+
+        PooledClient client2 = ac.getBean(PooledClient.class);
+        scope.release(client2);
+        ac.close();
+        ac = null;
+
+        assertThat(disconnectCount.get()).isEqualTo(2);
+
+    }
+
+    @Test
+    @DisplayName("풀 게이지는 주입한 레지스트리에 등록되고, 풀을 제거하거나 컨테이너를 종료하면 함께 제거된다")
+    void gauges(){
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        ac = context(new PooledScope(2, Duration.ofMillis(100), Duration.ofMinutes(1), bean -> true, registry));
+        PooledScope scope = ac.getBean(PooledScopeConfigurer.class).getScope();
+
+        PooledClient client1 = ac.getBean(PooledClient.class);
+        PooledClient client2 = ac.getBean(PooledClient.class);
+        scope.release(client1);
+
+        assertThat(registry.get("scope.pool.idle").tag("bean", "pooledClient").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("scope.pool.active").tag("bean", "pooledClient").gauge().value()).isEqualTo(1);
+
+        scope.remove("pooledClient");
+        assertThat(registry.find("scope.pool.idle").gauges()).isEmpty();
+        assertThat(registry.find("scope.pool.active").gauges()).isEmpty();
+
+        scope.release(ac.getBean(PooledClient.class));
+        assertThat(registry.find("scope.pool.idle").gauges()).hasSize(1);
+        ac.close();
+        ac = null;
+
+        assertThat(registry.getMeters()).isEmpty();
+        assertThat(client2.connected).isTrue(); //대여 중이던 객체는 소멸되지 않는다
+
+    }
+
+    @Test
+    @DisplayName("풀을 닫을 때 대여 중이던 객체는 나중에 반납할 때 소멸된다")
+    void releaseAfterClose(){
+
+        ac = context(new PooledScope(2, Duration.ofMillis(100), Duration.ofMinutes(1)));
+        PooledScope scope = ac.getBean(PooledScopeConfigurer.class).getScope();
+
+        PooledClient removed = ac.getBean(PooledClient.class);
+        scope.remove("pooledClient");
+        PooledClient borrowed = ac.getBean(PooledClient.class);
+        ac.close();
+        ac = null;
+
+        assertThat(removed.connected).isTrue();
+        assertThat(borrowed.connected).isTrue();
+
+        scope.release("pooledClient", removed);
+        scope.release(borrowed);
+
+        assertThat(removed.connected).isFalse();
+        assertThat(borrowed.connected).isFalse();
+        assertThat(disconnectCount.get()).isEqualTo(2);
+        assertThatThrownBy(() -> scope.release(borrowed)).isInstanceOf(IllegalArgumentException.class);
+
+    }
+
+    private AnnotationConfigApplicationContext context(PooledScope scope) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(PooledScopeConfigurer.class, () -> new PooledScopeConfigurer(scope));
+        context.registerBean("pooledClient", PooledClient.class);
+        context.refresh();
+        return context;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 생성 비용이 큰 빈
+     * - 초기화 시 연결하고 종료 시 연결을 끊는다
+     */
+    @Scope(PooledScope.SCOPE_NAME)
+    static class PooledClient {
+
+        volatile boolean connected;
+
+        @PostConstruct
+        public void connect(){
+            connectCount.incrementAndGet();
+            connected = true;
+        }
+
+        @PreDestroy
+        public void disconnect(){
+            disconnectCount.incrementAndGet();
+            connected = false;
+        }
+
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.hello.core.state;
+
+import com.hello.core.singleton.StatefulService;
+import jakarta.annotation.PostConstruct;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ScopedStateTest {
+
+    @Test
+    @DisplayName("싱글톤이어도 동시에 주문한 사용자는 각자의 금액을 본다")
+    void concurrentUsers() throws Exception {
+
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext(ScopedPriceService.class);
+        ScopedPriceService service = ac.getBean(ScopedPriceService.class);
+        CyclicBarrier bothOrdered = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        CompletableFuture<Integer> userA = CompletableFuture.supplyAsync(() -> service.withOrder(() -> {
+            service.order("userA", 10000);
+            await(bothOrdered);
+            return service.getPrice();
+        }), executor);
+        CompletableFuture<Integer> userB = CompletableFuture.supplyAsync(() -> service.withOrder(() -> {
+            service.order("userB", 20000);
+            await(bothOrdered);
+            return service.getPrice();
+        }), executor);
+
+        assertThat(userA.get()).isEqualTo(10000);
+        assertThat(userB.get()).isEqualTo(20000);
+        executor.shutdown();
+        ac.close();
+
+    }
+
+    @Test
+    @DisplayName("호출이 끝나면 이전 값으로 되돌리고 스레드에 값을 남기지 않는다")
+    void cleanupAfterCall(){
+
+        ScopedState<String> user = ScopedState.newInstance("user");
+
+        user.run("outer", () -> {
+            user.run("inner", () -> assertThat(user.get()).isEqualTo("inner"));
+            assertThat(user.get()).isEqualTo("outer");
+        });
+        assertThatThrownBy(() -> user.run("failed", () -> {
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(user.isBound()).isFalse();
+        assertThatThrownBy(user::get).isInstanceOf(NoSuchElementException.class);
+        assertThat(user.orElse("anonymous")).isEqualTo("anonymous");
+
+    }
+
+    @Test
+    @DisplayName("wrap 으로 감싼 작업은 다른 스레드에서도 현재 값을 본다")
+    void wrap() throws Exception {
+
+        ScopedState<String> user = ScopedState.newInstance("user");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Future<String> seen = user.call("userA", () -> executor.submit(user.wrap(user::get)));
+
+        assertThat(seen.get()).isEqualTo("userA");
+        assertThat(executor.submit(user::isBound).get()).isFalse();
+        executor.shutdown();
+
+    }
+
+    @Test
+    @DisplayName("싱글톤 빈의 변경 가능한 필드를 시작 시점에 찾는다")
+    void singletonStateChecker(){
+
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext();
+        ac.registerBean("statefulService", StatefulService.class);
+        ac.registerBean("scopedPriceService", ScopedPriceService.class);
+        ac.registerBean("checker", SingletonStateChecker.class, () -> new SingletonStateChecker(false, "com.hello.core"));
+        ac.refresh();
+
+        assertThat(ac.getBean(SingletonStateChecker.class).getViolations())
+                .extracting(SingletonStateChecker.Violation::beanName, SingletonStateChecker.Violation::fieldName)
+                .containsExactly(tuple("statefulService", "price"));
+        ac.close();
+
+        AnnotationConfigApplicationContext failing = new AnnotationConfigApplicationContext();
+        failing.registerBean("statefulService", StatefulService.class);
+        failing.registerBean("checker", SingletonStateChecker.class, () -> new SingletonStateChecker(true, "com.hello.core"));
+        assertThatThrownBy(failing::refresh)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("statefulService");
+
+    }
+
+    @Test
+    @DisplayName("수정자 주입, 초기화 콜백으로만 값을 정하는 필드는 변경 가능한 상태로 보지 않는다")
+    void singletonStateCheckerSetterInjection(){
+
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext();
+        ac.registerBean("statefulService", StatefulService.class);
+        ac.registerBean("setterInjectedService", SetterInjectedService.class);
+        ac.registerBean("checker", SingletonStateChecker.class, () -> new SingletonStateChecker(false, "com.hello.core.state"));
+        ac.refresh();
+
+        SingletonStateChecker checker = ac.getBean(SingletonStateChecker.class);
+        assertThat(ac.getBean(SetterInjectedService.class).statefulService).isSameAs(ac.getBean(StatefulService.class));
+        assertThat(checker.getViolations())
+                .extracting(SingletonStateChecker.Violation::beanName, SingletonStateChecker.Violation::fieldName)
+                .containsExactly(tuple("setterInjectedService", "fallback"));
+
+        //다시 검사하면 이전 결과를 버리고 새로 찾는다
+        checker.afterSingletonsInstantiated();
+        assertThat(checker.getViolations()).hasSize(1);
+        ac.close();
+
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class SetterInjectedService implements BeanNameAware {
+
+        private StatefulService statefulService; //수정자 주입으로만 정한다
+        private StatefulService fallback; //수정자 주입 뒤에도 바꾼다
+        private String beanName; //Aware 콜백으로만 정한다
+        private String label; //@PostConstruct 에서만 정한다
+
+        @Autowired
+        void setStatefulService(StatefulService statefulService) {
+            this.statefulService = statefulService;
+        }
+
+        @Autowired
+        void setFallback(StatefulService fallback) {
+            this.fallback = fallback;
+        }
+
+        @Override
+        public void setBeanName(String name) {
+            this.beanName = name;
+        }
+
+        @PostConstruct
+        void init() {
+            this.label = beanName + ":" + statefulService.getClass().getSimpleName();
+        }
+
+        void reset() {
+            this.fallback = null;
+        }
+
+    }
+
+    //StatefulService 의 price 필드를 ScopedState 로 바꾼 버전
+    static class ScopedPriceService {
+
+        private final ScopedState<Integer> price = ScopedState.newInstance("price");
+
+        public <R> R withOrder(Supplier<R> operation) {
+            return price.call(0, operation);
+        }
+
+        public void order(String name, int price) {
+            this.price.set(price);
+        }
+
+        public int getPrice() {
+            return price.get();
+        }
+
+    }
+
+}
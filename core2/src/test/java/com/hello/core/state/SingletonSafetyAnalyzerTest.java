@@ -0,0 +1,144 @@
+package com.hello.core.state;
+
+import com.hello.core.member.MemoryMemberRepository;
+import com.hello.core.state.SingletonSafetyAnalyzer.Finding;
+import com.hello.core.state.SingletonSafetyAnalyzer.Severity;
+import jakarta.annotation.PostConstruct;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingletonSafetyAnalyzerTest {
+
+    SingletonSafetyAnalyzer analyzer = new SingletonSafetyAnalyzer(getClass().getClassLoader());
+
+    @Test
+    @DisplayName("static 비 스레드 안전 컬렉션은 HIGH 로 찾는다")
+    void staticCollection() throws Exception {
+
+        List<Finding> findings = analyze(MemoryMemberRepository.class);
+
+        assertThat(findings).singleElement().satisfies(finding -> {
+            assertThat(finding.severity()).isEqualTo(Severity.HIGH);
+            assertThat(finding.fieldName()).isEqualTo("store");
+            assertThat(finding.fieldType()).isEqualTo("java.util.HashMap");
+        });
+
+    }
+
+    @Test
+    @DisplayName("필드마다 대입 위치, 타입, 락 사용에 따라 심각도를 정하고 주입, 초기화 콜백 필드, 컨테이너 타입 필드는 건너뛴다")
+    void severities() throws Exception {
+
+        assertThat(analyze(PriceService.class))
+                .extracting(Finding::fieldName, Finding::severity)
+                .containsExactlyInAnyOrder(
+                        tuple("price", Severity.HIGH),
+                        tuple("history", Severity.MEDIUM),
+                        tuple("orderCount", Severity.LOW),
+                        tuple("lastOrder", Severity.LOW),
+                        tuple("pending", Severity.HIGH),
+                        tuple("totals", Severity.HIGH),
+                        tuple("currency", Severity.LOW));
+
+    }
+
+    @Test
+    @DisplayName("싱글톤 컴포넌트가 아닌 클래스는 검사하지 않는다")
+    void ignoreNonSingletonComponents() throws Exception {
+
+        assertThat(analyze(PrototypePriceService.class)).isEmpty();
+        assertThat(analyze(NotComponent.class)).isEmpty();
+
+    }
+
+    private List<Finding> analyze(Class<?> type) throws Exception {
+        return analyzer.analyze(new ClassPathResource(type.getName().replace('.', '/') + ".class"));
+    }
+
+    @Service
+    static class PriceService {
+
+        @Value("${price.limit:0}")
+        private int limit;
+        private String region; //수정자 주입으로만 정한다
+        private ConfigurableEnvironment environment; //컨테이너 타입(Environment)의 하위 타입
+        private String symbol; //@PostConstruct 에서만 정한다
+
+        private int price; //HIGH : 요청마다 덮어쓴다
+        private final List<Integer> history = new ArrayList<>(); //MEDIUM : 비 스레드 안전 컬렉션
+        private int orderCount; //LOW : synchronized 메소드에서만 바꾼다
+        private int lastOrder; //LOW : synchronized 블록 안에서만 접근한다
+        private int pending; //HIGH : synchronized 블록 밖에서도 바꾼다
+        private static final Map<String, Integer> totals = new HashMap<>(); //HIGH : static 은 synchronized 메소드에서만 바꿔도 낮추지 않는다
+        private String currency; //LOW : 생성자에서만 정한다
+        private final Map<String, Integer> limits = Map.of(); //불변 값
+
+        PriceService() {
+            this.currency = "KRW";
+        }
+
+        void order(int price) {
+            this.price = price;
+            history.add(price);
+        }
+
+        synchronized void count() {
+            orderCount++;
+            totals.merge(region, 1, Integer::sum);
+        }
+
+        void record(int price) {
+            synchronized (this) {
+                lastOrder = price;
+            }
+            pending = price;
+        }
+
+        @Value("${price.region:KR}")
+        void setRegion(String region) {
+            this.region = region;
+        }
+
+        @PostConstruct
+        void init() {
+            this.symbol = "[" + currency + "]";
+        }
+
+        void useEnvironment(ConfigurableEnvironment environment) {
+            this.environment = environment;
+        }
+
+        String currency() {
+            return symbol + currency + limits;
+        }
+
+    }
+
+    @Component
+    @Scope("prototype")
+    static class PrototypePriceService {
+
+        private int price;
+
+    }
+
+    static class NotComponent {
+
+        private static Map<Long, Integer> store = new HashMap<>();
+
+    }
+
+}
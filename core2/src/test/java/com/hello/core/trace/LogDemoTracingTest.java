@@ -0,0 +1,49 @@
+package com.hello.core.trace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "trace.sample-rate=1.0")
+@AutoConfigureMockMvc
+class LogDemoTracingTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    @DisplayName("요청 하나의 span 을 traceId 로 조회한다")
+    void traceLogDemo() throws Exception {
+
+        MvcResult result = mockMvc.perform(get("/log-demo"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Trace-Id"))
+                .andReturn();
+
+        String traceId = result.getResponse().getHeader("X-Trace-Id");
+
+        mockMvc.perform(get("/traces").param("traceId", traceId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains(
+                        "LogDemoService.logic", "LogDemoController.logDemo", "GET /log-demo")));
+
+    }
+
+    @Test
+    @DisplayName("잘못된 traceId 는 400 으로 응답한다")
+    void malformedTraceId() throws Exception {
+
+        mockMvc.perform(get("/traces").param("traceId", "not-a-trace"))
+                .andExpect(status().isBadRequest());
+
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.hello.core.trace;
+
+import com.hello.core.discount.RateDiscountPolicy;
+import com.hello.core.member.Grade;
+import com.hello.core.member.Member;
+import com.hello.core.member.MemoryMemberRepository;
+import com.hello.core.order.OrderServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TracerTest {
+
+    Tracer tracer = Tracer.global();
+    RingBufferSpanExporter ringBuffer = new RingBufferSpanExporter(16);
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void afterEach(){
+        tracer.removeExporter(ringBuffer);
+        tracer.setSampler(Sampler.ratio(0.1));
+    }
+
+    @Test
+    void childSpansFollowRoot(){
+
+        tracer.addExporter(ringBuffer);
+        tracer.setSampler(Sampler.ratio(1.0));
+        MemoryMemberRepository memberRepository = new MemoryMemberRepository();
+        memberRepository.save(new Member(701L, "memberA", Grade.VIP));
+        OrderServiceImpl orderService = new OrderServiceImpl(memberRepository, new RateDiscountPolicy());
+
+        long traceId;
+        try (Span root = tracer.startRootSpan("GET /order")) {
+            traceId = root.getTraceId();
+            orderService.createOrder(701L, "itemA", 10000);
+        }
+
+        List<SpanData> spans = ringBuffer.findByTraceId(traceId);
+        assertThat(spans).extracting(SpanData::name)
+                .containsExactly("MemberRepository.findById", "OrderService.createOrder", "GET /order");
+
+        SpanData repository = spans.get(0);
+        SpanData service = spans.get(1);
+        SpanData root = spans.get(2);
+        assertThat(root.isRoot()).isTrue();
+        assertThat(service.parentSpanId()).isEqualTo(root.spanId());
+        assertThat(repository.parentSpanId()).isEqualTo(service.spanId());
+        assertThat(tracer.currentSpan().isRecording()).isFalse();
+
+    }
+
+    @Test
+    void unsampledRequestRecordsNothing(){
+
+        tracer.addExporter(ringBuffer);
+        tracer.setSampler(Sampler.ratio(0.0));
+
+        try (Span root = tracer.startRootSpan("GET /order")) {
+            assertThat(root.isRecording()).isFalse();
+            try (Span child = tracer.startSpan("OrderService.createOrder")) {
+                assertThat(child.isRecording()).isFalse();
+            }
+        }
+
+        assertThat(ringBuffer.snapshot()).isEmpty();
+
+    }
+
+    @Test
+    void samplingRatio(){
+
+        Sampler sampler = Sampler.ratio(0.25);
+        int sampled = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (sampler.isSampled(java.util.concurrent.ThreadLocalRandom.current().nextLong())) {
+                sampled++;
+            }
+        }
+
+        assertThat(sampled).isBetween(23_000, 27_000);
+
+    }
+
+    @Test
+    void ringBufferKeepsLatest(){
+
+        RingBufferSpanExporter buffer = new RingBufferSpanExporter(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.export(new SpanData(1, i, 0, "span" + i, 0, 0, "main"));
+        }
+
+        assertThat(buffer.snapshot()).extracting(SpanData::name).containsExactly("span3", "span4", "span5");
+
+    }
+
+    @Test
+    void fileExporter() throws Exception {
+
+        Path file = tempDir.resolve("spans.log");
+        try (FileSpanExporter exporter = new FileSpanExporter(file)) {
+            exporter.export(new SpanData(0xabcL, 0x1L, 0, "GET /log-demo", 0, 1500, "main"));
+            exporter.export(new SpanData(0xabcL, 0x2L, 0x1L, "LogDemoService.logic", 0, 500, "main"));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).startsWith("0000000000000abc 0000000000000001 - ").endsWith("GET /log-demo");
+        assertThat(lines.get(1)).contains(" 0000000000000001 ").endsWith("LogDemoService.logic");
+
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.hello.core.xml;
+
+import com.hello.core.member.MemberService;
+import com.hello.core.member.MemoryMemberRepository;
+import com.hello.core.order.OrderService;
+import com.hello.core.order.OrderServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachedXmlApplicationContextTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    @DisplayName("첫 실행에 캐시를 만들고, 다음 실행부터는 캐시에서 빈 정의를 읽는다")
+    void cacheOnFirstRun() throws IOException {
+
+        //빌드 시점 캐시(클래스패스)와 겹치지 않도록 다른 이름으로 복사해서 사용
+        FileSystemResource xml = copyAppConfig("first-run-config.xml");
+
+        CachedXmlApplicationContext first = new CachedXmlApplicationContext(cacheDirectory, xml);
+        assertThat(first.getCacheHitCount()).isZero();
+        assertThat(cacheDirectory.resolve("first-run-config.xml.bdc")).exists();
+        first.close();
+
+        CachedXmlApplicationContext second = new CachedXmlApplicationContext(cacheDirectory, xml);
+        assertThat(second.getCacheHitCount()).isEqualTo(1);
+
+        //XML 로 만든 것과 같은 빈 구성
+        assertThat(second.getBean("memberService", MemberService.class)).isNotNull();
+        OrderServiceImpl orderService = (OrderServiceImpl) second.getBean("orderService", OrderService.class);
+        assertThat(orderService.getMemberRepository()).isSameAs(second.getBean("memberRepository"));
+        assertThat(second.getBean("memberRepository")).isInstanceOf(MemoryMemberRepository.class);
+        second.close();
+
+    }
+
+    @Test
+    @DisplayName("XML 이 바뀌면 캐시를 버리고 다시 파싱한다")
+    void invalidateOnChecksumChange() throws IOException {
+
+        FileSystemResource xml = copyAppConfig("legacy-config.xml");
+        new CachedXmlApplicationContext(cacheDirectory, xml).close();
+
+        Files.writeString(xml.getFile().toPath(), xml.getContentAsString(StandardCharsets.UTF_8)
+                .replace("RateDiscountPolicy", "FixDiscountPolicy"));
+        CachedXmlApplicationContext changed = new CachedXmlApplicationContext(cacheDirectory, xml);
+
+        assertThat(changed.getCacheHitCount()).isZero();
+        assertThat(changed.getBeanDefinition("discountPolicy").getBeanClassName())
+                .isEqualTo("com.hello.core.discount.FixDiscountPolicy");
+        changed.close();
+
+    }
+
+    @Test
+    @DisplayName("캐시를 읽다가 실패하면 XML 을 다시 파싱하고 캐시를 새로 만든다")
+    void rewriteCorruptedCache() throws IOException {
+
+        FileSystemResource xml = copyAppConfig("corrupted-config.xml");
+        new CachedXmlApplicationContext(cacheDirectory, xml).close();
+
+        //헤더 뒤에서 잘린 파일 (EOFException)
+        Path cache = cacheDirectory.resolve("corrupted-config.xml.bdc");
+        byte[] bytes = Files.readAllBytes(cache);
+        Files.write(cache, Arrays.copyOf(bytes, bytes.length / 2));
+
+        CachedXmlApplicationContext reparsed = new CachedXmlApplicationContext(cacheDirectory, xml);
+        assertThat(reparsed.getCacheHitCount()).isZero();
+        assertThat(reparsed.getBeanDefinitionNames()).containsExactlyInAnyOrder(
+                "memberService", "memberRepository", "orderService", "discountPolicy");
+        reparsed.close();
+
+        assertThat(cache).hasBinaryContent(bytes);
+        CachedXmlApplicationContext cached = new CachedXmlApplicationContext(cacheDirectory, xml);
+        assertThat(cached.getCacheHitCount()).isEqualTo(1);
+        cached.close();
+
+    }
+
+    @Test
+    @DisplayName("캐시 디렉토리를 지정하지 않으면 실행 시 캐시를 만들지 않는다")
+    void noRuntimeCacheWithoutDirectory() throws IOException {
+
+        FileSystemResource xml = copyAppConfig("no-cache-config.xml");
+
+        CachedXmlApplicationContext ac = new CachedXmlApplicationContext(xml.getURL().toString());
+
+        assertThat(ac.getCacheHitCount()).isZero();
+        assertThat(ac.getBean("memberService", MemberService.class)).isNotNull();
+        assertThat(Path.of(System.getProperty("java.io.tmpdir"), "bean-definition-cache", "no-cache-config.xml.bdc"))
+                .doesNotExist();
+        ac.close();
+
+    }
+
+    @Test
+    @DisplayName("캐시로 표현할 수 없는 XML 은 캐시 없이 XML 로 파싱한다")
+    void unsupportedDefinitions() throws IOException {
+
+        Path xml = cacheDirectory.resolve("inner-bean.xml");
+        Files.writeString(xml, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <beans xmlns="http://www.springframework.org/schema/beans"
+                       xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                       xsi:schemaLocation="http://www.springframework.org/schema/beans http://www.springframework.org/schema/beans/spring-beans.xsd">
+                    <bean id="memberService" class="com.hello.core.member.MemberServiceImpl">
+                        <constructor-arg>
+                            <bean class="com.hello.core.member.MemoryMemberRepository"/>
+                        </constructor-arg>
+                    </bean>
+                </beans>
+                """);
+
+        CachedXmlApplicationContext ac = new CachedXmlApplicationContext(cacheDirectory, new FileSystemResource(xml));
+
+        assertThat(ac.getBean("memberService", MemberService.class)).isNotNull();
+        assertThat(cacheDirectory.resolve("inner-bean.xml.bdc")).doesNotExist();
+        ac.close();
+
+    }
+
+    @Test
+    @DisplayName("빌드 시점에 만든 캐시를 사용한다")
+    void buildTimeCache() throws IOException {
+
+        Path cache = cacheDirectory.resolve("app-config.xml.bdc");
+        assertThat(BeanDefinitionCacheGenerator.generate(new ClassPathResource("app-config.xml"), cache)).isTrue();
+
+        CachedXmlApplicationContext ac = new CachedXmlApplicationContext(cacheDirectory, "app-config.xml");
+
+        assertThat(ac.getCacheHitCount()).isEqualTo(1);
+        assertThat(ac.getBeanDefinitionNames()).containsExactlyInAnyOrder(
+                "memberService", "memberRepository", "orderService", "discountPolicy");
+        ac.close();
+
+    }
+
+    private FileSystemResource copyAppConfig(String fileName) throws IOException {
+        Path xml = cacheDirectory.resolve(fileName);
+        Files.write(xml, new ClassPathResource("app-config.xml").getContentAsByteArray());
+        return new FileSystemResource(xml);
+    }
+
+}
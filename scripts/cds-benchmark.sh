@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+#
+# AppCDS 아카이브 사용 여부에 따른 시작 시간 비교
+# - cdsArchive 태스크가 생성한 실행 스크립트(build/cds/<이름>.sh)를 CDS=off, CDS=on 으로 번갈아 실행한다
+# - 스프링 부트 애플리케이션은 -Dspring.context.exit=onRefresh 로 시작이 끝나면 바로 종료하므로
+#   측정한 시간이 곧 프로세스 시작부터 시작 완료까지 걸린 시간이다
+#
+# 사용법
+#   (cd core2 && ./gradlew cdsArchives)
+#   scripts/cds-benchmark.sh core2/build/cds/coreApplication.sh [runs]
+#
+set -euo pipefail
+
+LAUNCHER=${1:?usage: cds-benchmark.sh <build/cds/name.sh> [runs]}
+RUNS=${2:-10}
+shift $(( $# > 1 ? 2 : 1 ))
+
+now_ms() {
+  date +%s%3N
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+measure() {
+  local cds=$1 start
+  start=$(now_ms)
+  CDS=${cds} JAVA_OPTS="-Dspring.context.exit=onRefresh ${JAVA_OPTS:-}" "${LAUNCHER}" "$@" > /dev/null 2>&1
+  echo $(( $(now_ms) - start ))
+}
+
+# 첫 실행은 디스크 캐시 영향을 받으므로 버린다
+measure off "$@" > /dev/null
+measure on "$@" > /dev/null
+
+off=()
+on=()
+for _ in $(seq "${RUNS}"); do
+  off+=("$(measure off "$@")")
+  on+=("$(measure on "$@")")
+done
+
+off_median=$(printf '%s\n' "${off[@]}" | median)
+on_median=$(printf '%s\n' "${on[@]}" | median)
+
+printf "%-10s %10s\n" "cds" "start(ms)"
+printf "%-10s %10s\n" "off" "${off_median}"
+printf "%-10s %10s\n" "on" "${on_median}"
+awk -v off="${off_median}" -v on="${on_median}" 'BEGIN { printf "speedup    %9.2fx\n", off / on }'